@@ -160,6 +160,63 @@ import java.util.concurrent.ScheduledThreadPoolExecutor;
  * </blockquote>
  * 
  * 
+ * <h2>Coalescing</h2>
+ * <p>
+ * When only the result of the latest invocation matters, such as a search
+ * as you type, set {@link #coalesce()} to <code>LATEST</code>: submitting a
+ * task cancels the tasks having the same {@link #id()} which have not
+ * started yet.
+ * </p>
+ * <b>Example</b> :
+ *
+ * <blockquote>
+ * <pre>
+ * &#064;EBean
+ * public class MyBean {
+ * 
+ * 	&#064;Background(id = &quot;search&quot;, coalesce = Coalesce.LATEST)
+ * 	void search(String query) {
+ * 		// ...
+ * 	}
+ * }
+ * </pre>
+ * 
+ * </blockquote>
+ * 
+ * 
+ * <h2>Priority</h2>
+ * <p>
+ * With the default executor, waiting tasks having the highest
+ * {@link #priority()} are executed first, so that the work the user is
+ * waiting for is not delayed by prefetching.
+ * </p>
+ * <p>
+ * The number of tasks waiting for the same {@link #serial()} can be limited
+ * with {@link #maxPending()}. When the limit is reached, the
+ * {@link #overflow()} policy tells which task is dropped.
+ * </p>
+ * <b>Example</b> :
+ *
+ * <blockquote>
+ * <pre>
+ * &#064;EBean
+ * public class MyBean {
+ * 
+ * 	&#064;Background(priority = 10)
+ * 	void decodeVisibleImage() {
+ * 		// ...
+ * 	}
+ * 
+ * 	&#064;Background(serial = &quot;prefetch&quot;, priority = -10, maxPending = 20)
+ * 	void prefetch(int position) {
+ * 		// ...
+ * 	}
+ * }
+ * </pre>
+ * 
+ * </blockquote>
+ * 
+ * 
  * @see UiThread
  * @see org.androidannotations.api.BackgroundExecutor
  */
@@ -196,4 +253,52 @@ public @interface Background {
 	 * @return the serial execution group
 	 **/
 	String serial() default "";
+
+	/**
+	 * Execution priority.
+	 * 
+	 * Tasks waiting for a thread are executed by decreasing priority, and in
+	 * submission order for the same priority. This is only supported by the
+	 * default executor of {@link org.androidannotations.api.BackgroundExecutor}.
+	 *
+	 * @return the execution priority
+	 */
+	int priority() default 0;
+
+	/**
+	 * Maximum number of tasks waiting for the running task of the same
+	 * {@link #serial()}, or <code>0</code> for no limit.
+	 *
+	 * @return the maximum number of waiting tasks
+	 */
+	int maxPending() default 0;
+
+	/**
+	 * What to do when a task is submitted while {@link #maxPending()} tasks
+	 * are already waiting for its serial.
+	 *
+	 * @return the overflow policy
+	 */
+	Overflow overflow() default Overflow.REPLACE_OLDEST;
+
+	/**
+	 * If coalesce = LATEST, the tasks having the same {@link #id()} which have
+	 * not started yet are cancelled when a new one is submitted, so that only
+	 * the latest invocation runs. The default value is NONE.
+	 *
+	 * @return whether waiting tasks with the same id are replaced
+	 */
+	Coalesce coalesce() default Coalesce.NONE;
+
+	public enum Overflow {
+		/**
+		 * The new task is dropped.
+		 */
+		DROP_NEWEST,
+
+		/**
+		 * The oldest waiting task is dropped, and the new task is queued.
+		 */
+		REPLACE_OLDEST
+	}
 }
@@ -107,6 +107,15 @@ public @interface UiThread {
 	 */
 	Propagation propagation() default Propagation.ENQUEUE;
 
+	/**
+	 * If coalesce = LATEST, the calls to this method which are still waiting
+	 * in the handler queue are removed when a new call is posted, so that only
+	 * the latest one runs. The default value is NONE, which posts every call.
+	 *
+	 * @return whether waiting calls are replaced by the latest one
+	 */
+	Coalesce coalesce() default Coalesce.NONE;
+
 	public enum Propagation {
 		ENQUEUE, REUSE
 	}
@@ -57,6 +57,13 @@ import java.lang.annotation.Target;
  * </pre>
  * 
  * </blockquote>
+ * <p>
+ * To look up a view only when it is first used, declare the field as a
+ * {@link org.androidannotations.api.view.LazyView LazyView} of the view type.
+ * Laziness is chosen field by field: the generated class cannot intercept the
+ * reads of a plain View field, so there is no option making all the fields of
+ * a component lazy.
+ * </p>
  * 
  * @see AfterViews
  */
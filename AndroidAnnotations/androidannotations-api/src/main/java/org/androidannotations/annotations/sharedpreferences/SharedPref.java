@@ -64,6 +64,15 @@ import java.lang.annotation.Target;
  * </pre>
  * 
  * </blockquote>
+ * <p>
+ * With <code>cache = true</code>, the generated fields keep the value read by
+ * their <code>get()</code> method until the preference changes, which is
+ * detected with an {@link android.content.SharedPreferences.OnSharedPreferenceChangeListener
+ * OnSharedPreferenceChangeListener}. The writes done through the generated
+ * class are visible immediately, whereas a change made on a background thread
+ * by another component is only seen once the listener is notified on the main
+ * thread.
+ * </p>
  * 
  * @see Pref
  */
@@ -77,4 +86,6 @@ public @interface SharedPref {
 	Scope value() default Scope.ACTIVITY;
 
 	int mode() default Context.MODE_PRIVATE;
+
+	boolean cache() default false;
 }
@@ -17,10 +17,14 @@ package org.androidannotations.api;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -28,6 +32,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 
 import android.os.Looper;
 import android.util.Log;
+import org.androidannotations.annotations.Background;
 import org.androidannotations.annotations.SupposeBackground;
 import org.androidannotations.annotations.SupposeUiThread;
 
@@ -35,7 +40,7 @@ public class BackgroundExecutor {
 
 	private static final String TAG = "BackgroundExecutor";
 
-	public static Executor DEFAULT_EXECUTOR = Executors.newScheduledThreadPool(2 * Runtime.getRuntime().availableProcessors());
+	public static Executor DEFAULT_EXECUTOR = new PriorityScheduledExecutor(2 * Runtime.getRuntime().availableProcessors());
 	private static Executor executor = DEFAULT_EXECUTOR;
 
 	/**
@@ -71,7 +76,14 @@ public class BackgroundExecutor {
 
 	private static WrongThreadListener wrongThreadListener = DEFAULT_WRONG_THREAD_LISTENER;
 
-	private static final List<Task> tasks = new ArrayList<Task>();
+	private static volatile TaskListener taskListener;
+
+	/*
+	 * Serials and ids are annotation constants, so there is a bounded number of
+	 * them and their entries are never removed.
+	 */
+	private static final ConcurrentMap<String, SerialQueue> serialQueues = new ConcurrentHashMap<String, SerialQueue>();
+	private static final ConcurrentMap<String, Queue<Task>> tasksById = new ConcurrentHashMap<String, Queue<Task>>();
 	private static final ThreadLocal<String> currentSerial = new ThreadLocal<String>();
 
 	/**
@@ -122,16 +134,70 @@ public class BackgroundExecutor {
 	 *             {@link #setExecutor(Executor)} has been called with such an
 	 *             executor)
 	 */
-	public static synchronized void execute(Task task) {
-		Future<?> future = null;
-		if (task.serial == null || !hasSerialRunning(task.serial)) {
-			task.executionAsked = true;
-			future = directExecute(task, task.remainingDelay);
+	public static void execute(Task task) {
+		task.enqueueTime = System.nanoTime();
+		if (task.id != null) {
+			/* keep task for cancellation */
+			tasksWithId(task.id).add(task);
 		}
-		if (task.id != null || task.serial != null) {
-			/* keep task */
-			task.future = future;
-			tasks.add(task);
+
+		TaskListener listener = taskListener;
+		if (listener != null) {
+			listener.onEnqueued(task.id, task.serial, task.enqueueTime);
+		}
+
+		try {
+			if (task.serial == null) {
+				boolean cancelled;
+				synchronized (task) {
+					cancelled = task.cancelled;
+					if (!cancelled) {
+						task.submit();
+					}
+				}
+				if (cancelled) {
+					task.discard();
+				}
+			} else {
+				serialQueue(task.serial).offer(task);
+			}
+		} catch (RuntimeException e) {
+			task.discard();
+			throw e;
+		}
+	}
+
+	/**
+	 * Cancel the tasks having the same <code>id</code> which have not started
+	 * yet, then execute a task as {@link #execute(Task)} does.
+	 * 
+	 * @param task
+	 *            the task to execute
+	 * @throws IllegalArgumentException
+	 *             if <code>task.delay</code> is strictly positive and the
+	 *             current executor does not support scheduling (if
+	 *             {@link #setExecutor(Executor)} has been called with such an
+	 *             executor)
+	 */
+	public static void executeLatest(Task task) {
+		if (task.id == null) {
+			execute(task);
+			return;
+		}
+		Queue<Task> tasks = tasksWithId(task.id);
+		synchronized (tasks) {
+			List<Task> snapshot = new ArrayList<Task>(tasks);
+			for (int i = snapshot.size() - 1; i >= 0; i--) {
+				Task pendingTask = snapshot.get(i);
+				if (pendingTask.serial == null) {
+					synchronized (pendingTask) {
+						pendingTask.cancelPending();
+					}
+				} else {
+					serialQueue(pendingTask.serial).cancelPending(pendingTask);
+				}
+			}
+			execute(task);
 		}
 	}
 
@@ -233,6 +299,18 @@ public class BackgroundExecutor {
 		wrongThreadListener = listener;
 	}
 
+	/**
+	 * Sets the listener notified of the life cycle of each {@link Task}, or
+	 * <code>null</code> to remove it. {@link BackgroundExecutorMetrics} is a
+	 * listener collecting statistics for each serial.
+	 *
+	 * @param listener
+	 *            the new {@link TaskListener}
+	 */
+	public static void setTaskListener(TaskListener listener) {
+		taskListener = listener;
+	}
+
 	/**
 	 * Cancel all tasks having the specified <code>id</code>.
 	 *
@@ -243,26 +321,25 @@ public class BackgroundExecutor {
 	 *            interrupted; otherwise, in-progress tasks are allowed to
 	 *            complete
 	 */
-	public static synchronized void cancelAll(String id, boolean mayInterruptIfRunning) {
-		for (int i = tasks.size() - 1; i >= 0; i--) {
-			Task task = tasks.get(i);
-			if (id.equals(task.id)) {
-				if (task.future != null) {
-					task.future.cancel(mayInterruptIfRunning);
-					if (!task.managed.getAndSet(true)) {
-						/*
-						 * the task has been submitted to the executor, but its
-						 * execution has not started yet, so that its run()
-						 * method will never call postExecute()
-						 */
-						task.postExecute();
-					}
-				} else if (task.executionAsked) {
-					Log.w(TAG, "A task with id " + task.id + " cannot be cancelled (the executor set does not support it)");
-				} else {
-					/* this task has not been submitted to the executor */
-					tasks.remove(i);
+	public static void cancelAll(String id, boolean mayInterruptIfRunning) {
+		Queue<Task> tasks = tasksById.get(id);
+		if (tasks == null) {
+			return;
+		}
+		/*
+		 * cancel the most recent tasks first, so that cancelling a running
+		 * serial task does not start a queued task which is about to be
+		 * cancelled too
+		 */
+		List<Task> snapshot = new ArrayList<Task>(tasks);
+		for (int i = snapshot.size() - 1; i >= 0; i--) {
+			Task task = snapshot.get(i);
+			if (task.serial == null) {
+				synchronized (task) {
+					task.cancel(mayInterruptIfRunning);
 				}
+			} else {
+				serialQueue(task.serial).cancel(task, mayInterruptIfRunning);
 			}
 		}
 	}
@@ -310,39 +387,104 @@ public class BackgroundExecutor {
 		wrongThreadListener.onWrongBgSerial(current, serials);
 	}
 
-	/**
-	 * Indicates whether a task with the specified <code>serial</code> has been
-	 * submitted to the executor.
-	 *
-	 * @param serial the serial queue
-	 * @return <code>true</code> if such a task has been submitted,
-	 * <code>false</code> otherwise
-	 */
-	private static boolean hasSerialRunning(String serial) {
-		for (Task task : tasks) {
-			if (task.executionAsked && serial.equals(task.serial)) {
-				return true;
+	private static Queue<Task> tasksWithId(String id) {
+		Queue<Task> tasks = tasksById.get(id);
+		if (tasks == null) {
+			tasks = new ConcurrentLinkedQueue<Task>();
+			Queue<Task> existingTasks = tasksById.putIfAbsent(id, tasks);
+			if (existingTasks != null) {
+				tasks = existingTasks;
+			}
+		}
+		return tasks;
+	}
+
+	private static SerialQueue serialQueue(String serial) {
+		SerialQueue queue = serialQueues.get(serial);
+		if (queue == null) {
+			queue = new SerialQueue();
+			SerialQueue existingQueue = serialQueues.putIfAbsent(serial, queue);
+			if (existingQueue != null) {
+				queue = existingQueue;
 			}
 		}
-		return false;
+		return queue;
 	}
 
 	/**
-	 * Retrieve and remove the first task having the specified
-	 * <code>serial</code> (if any).
+	 * The tasks of one serial: at most one of them has been submitted to the
+	 * executor, the others wait in FIFO order.
 	 * 
-	 * @param serial
-	 *            the serial queue
-	 * @return task if found, <code>null</code> otherwise
+	 * Locks are always taken on the queue first, then on the task.
 	 */
-	private static Task take(String serial) {
-		int len = tasks.size();
-		for (int i = 0; i < len; i++) {
-			if (serial.equals(tasks.get(i).serial)) {
-				return tasks.remove(i);
+	private static class SerialQueue {
+
+		private final LinkedList<Task> pending = new LinkedList<Task>();
+		private boolean running;
+
+		synchronized void offer(Task task) {
+			boolean cancelled;
+			synchronized (task) {
+				cancelled = task.cancelled;
+			}
+			if (cancelled) {
+				task.discard();
+			} else if (!running) {
+				submit(task);
+			} else if (task.maxPending <= 0 || pending.size() < task.maxPending) {
+				pending.add(task);
+			} else if (task.overflow == Background.Overflow.REPLACE_OLDEST) {
+				pending.poll().discard();
+				pending.add(task);
+			} else {
+				task.discard();
+			}
+		}
+
+		/**
+		 * Submit the next pending task, if any. Called when the running task
+		 * completed or was cancelled.
+		 */
+		synchronized void next(Task previous) {
+			running = false;
+			Task next = pending.poll();
+			if (next != null) {
+				if (next.remainingDelay != 0) {
+					/* the delay may not have elapsed yet */
+					next.remainingDelay = Math.max(0, (int) (previous.targetTimeMillis - System.currentTimeMillis()));
+				}
+				/* a task having the same serial was queued, execute it */
+				submit(next);
+			}
+		}
+
+		synchronized void cancel(Task task, boolean mayInterruptIfRunning) {
+			if (pending.remove(task)) {
+				/* this task has not been submitted to the executor */
+				task.discard();
+			} else {
+				synchronized (task) {
+					task.cancel(mayInterruptIfRunning);
+				}
 			}
 		}
-		return null;
+
+		synchronized void cancelPending(Task task) {
+			if (pending.remove(task)) {
+				task.discard();
+			} else {
+				synchronized (task) {
+					task.cancelPending();
+				}
+			}
+		}
+
+		private void submit(Task task) {
+			synchronized (task) {
+				task.submit();
+			}
+			running = true;
+		}
 	}
 
 	public static abstract class Task implements Runnable {
@@ -351,8 +493,20 @@ public class BackgroundExecutor {
 		private int remainingDelay;
 		private long targetTimeMillis; /* since epoch */
 		private String serial;
+		private int priority;
+		private int maxPending;
+		private Background.Overflow overflow = Background.Overflow.REPLACE_OLDEST;
+		private long enqueueTime;
+		private long startTime;
+		/* guarded by this task */
 		private boolean executionAsked;
 		private Future<?> future;
+		/*
+		 * Set when the task is cancelled after it has been indexed by its id
+		 * but before it has been submitted or offered to its serial queue: it
+		 * is then discarded instead.
+		 */
+		private boolean cancelled;
 
 		/*
 		 * A task can be cancelled after it has been submitted to the executor
@@ -381,6 +535,27 @@ public class BackgroundExecutor {
 			}
 		}
 
+		/**
+		 * @param priority
+		 *            tasks with a higher priority are executed first by the
+		 *            default executor
+		 * @param maxPending
+		 *            the maximum number of tasks waiting for the same serial,
+		 *            <code>0</code> for no limit
+		 * @param overflow
+		 *            the task dropped when maxPending is reached
+		 */
+		public Task(String id, int delay, String serial, int priority, int maxPending, Background.Overflow overflow) {
+			this(id, delay, serial);
+			this.priority = priority;
+			this.maxPending = maxPending;
+			this.overflow = overflow;
+		}
+
+		int getPriority() {
+			return priority;
+		}
+
 		@Override
 		public void run() {
 			if (managed.getAndSet(true)) {
@@ -388,10 +563,20 @@ public class BackgroundExecutor {
 				return;
 			}
 
+			startTime = System.nanoTime();
+			TaskListener listener = taskListener;
+			if (listener != null) {
+				listener.onStarted(id, serial, enqueueTime, startTime);
+			}
+
 			try {
 				currentSerial.set(serial);
 				execute();
 			} finally {
+				listener = taskListener;
+				if (listener != null) {
+					listener.onFinished(id, serial, startTime, System.nanoTime());
+				}
 				/* handle next tasks */
 				postExecute();
 			}
@@ -399,32 +584,134 @@ public class BackgroundExecutor {
 
 		public abstract void execute();
 
+		private void submit() {
+			executionAsked = true;
+			future = directExecute(this, remainingDelay);
+		}
+
+		private void cancel(boolean mayInterruptIfRunning) {
+			if (!executionAsked) {
+				cancelled = true;
+			} else if (future != null) {
+				future.cancel(mayInterruptIfRunning);
+				if (!managed.getAndSet(true)) {
+					/*
+					 * the task has been submitted to the executor, but its
+					 * execution has not started yet, so that its run() method
+					 * will never call postExecute()
+					 */
+					notifyCancelled();
+					postExecute();
+				}
+			} else {
+				Log.w(TAG, "A task with id " + id + " cannot be cancelled (the executor set does not support it)");
+			}
+		}
+
+		/**
+		 * Cancel this task if its execution has not started yet.
+		 */
+		private void cancelPending() {
+			if (!executionAsked) {
+				cancelled = true;
+			} else if (future != null && !managed.getAndSet(true)) {
+				future.cancel(false);
+				notifyCancelled();
+				postExecute();
+			}
+		}
+
+		/**
+		 * Forget a task which will never be submitted to the executor.
+		 */
+		private void discard() {
+			forget();
+			notifyCancelled();
+		}
+
+		private void notifyCancelled() {
+			TaskListener listener = taskListener;
+			if (listener != null) {
+				listener.onCancelled(id, serial, enqueueTime, System.nanoTime());
+			}
+		}
+
+		private void forget() {
+			if (id != null) {
+				Queue<Task> tasks = tasksById.get(id);
+				if (tasks != null) {
+					tasks.remove(this);
+				}
+			}
+		}
+
 		private void postExecute() {
 			if (id == null && serial == null) {
 				/* nothing to do */
 				return;
 			}
 			currentSerial.set(null);
-			synchronized (BackgroundExecutor.class) {
-				/* execution complete */
-				tasks.remove(this);
-
-				if (serial != null) {
-					Task next = take(serial);
-					if (next != null) {
-						if (next.remainingDelay != 0) {
-							/* the delay may not have elapsed yet */
-							next.remainingDelay = Math.max(0, (int) (targetTimeMillis - System.currentTimeMillis()));
-						}
-						/* a task having the same serial was queued, execute it */
-						BackgroundExecutor.execute(next);
-					}
-				}
+
+			/* execution complete */
+			forget();
+
+			if (serial != null) {
+				serialQueue(serial).next(this);
 			}
 		}
 
 	}
 
+	/**
+	 * A callback interface to be notified of the life cycle of each
+	 * {@link Task}. Times are given by {@link System#nanoTime()}, and the id or
+	 * the serial are <code>null</code> if the task has none.
+	 * 
+	 * Every enqueued task is either started then finished, or cancelled before
+	 * it starts. Running tasks that are interrupted still finish. Methods are
+	 * called from the threads submitting, running or cancelling tasks, so they
+	 * must be thread safe and fast.
+	 *
+	 * @see #setTaskListener(TaskListener)
+	 * @see BackgroundExecutorMetrics
+	 */
+	public static interface TaskListener {
+
+		/**
+		 * @param id the task id
+		 * @param serial the task serial
+		 * @param enqueueTime the time the task was submitted
+		 */
+		void onEnqueued(String id, String serial, long enqueueTime);
+
+		/**
+		 * @param id the task id
+		 * @param serial the task serial
+		 * @param enqueueTime the time the task was submitted
+		 * @param startTime the time the task started running
+		 */
+		void onStarted(String id, String serial, long enqueueTime, long startTime);
+
+		/**
+		 * @param id the task id
+		 * @param serial the task serial
+		 * @param startTime the time the task started running
+		 * @param finishTime the time the task finished running
+		 */
+		void onFinished(String id, String serial, long startTime, long finishTime);
+
+		/**
+		 * Called when a task is cancelled, coalesced or dropped by its serial
+		 * queue before it started.
+		 *
+		 * @param id the task id
+		 * @param serial the task serial
+		 * @param enqueueTime the time the task was submitted
+		 * @param cancelTime the time the task was cancelled
+		 */
+		void onCancelled(String id, String serial, long enqueueTime, long cancelTime);
+	}
+
 	/**
 	 * A callback interface to be notified when a method invocation is expected from another thread.
 	 *
@@ -0,0 +1,216 @@
+/**
+ * Copyright (C) 2010-2014 eBusiness Information, Excilys Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.api;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A {@link BackgroundExecutor.TaskListener} collecting, for each serial, the
+ * number of waiting tasks and histograms of the time tasks wait before
+ * running and of the time they run.
+ * 
+ * Tasks without serial are collected under the <code>""</code> serial.
+ * 
+ * <pre>
+ * BackgroundExecutorMetrics metrics = new BackgroundExecutorMetrics();
+ * BackgroundExecutor.setTaskListener(metrics);
+ * // ...
+ * if (metrics.getSerialMetrics().get(&quot;sync&quot;).getQueueDepth() &gt; 100) {
+ * 	// ...
+ * }
+ * </pre>
+ */
+public class BackgroundExecutorMetrics implements BackgroundExecutor.TaskListener {
+
+	/**
+	 * Upper bounds, in milliseconds, of the histogram buckets. The last bucket
+	 * counts the longer durations.
+	 */
+	public static final long[] BUCKET_BOUNDS_MILLIS = { 1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000 };
+
+	private static final String NO_SERIAL = "";
+
+	private final ConcurrentMap<String, Collector> collectors = new ConcurrentHashMap<String, Collector>();
+
+	/**
+	 * A snapshot of the metrics of one serial.
+	 */
+	public static class SerialMetrics {
+
+		private final int queueDepth;
+		private final int maxQueueDepth;
+		private final long finishedTasks;
+		private final long cancelledTasks;
+		private final long[] waitTimeHistogram;
+		private final long[] runTimeHistogram;
+
+		SerialMetrics(int queueDepth, int maxQueueDepth, long finishedTasks, long cancelledTasks, long[] waitTimeHistogram, long[] runTimeHistogram) {
+			this.queueDepth = queueDepth;
+			this.maxQueueDepth = maxQueueDepth;
+			this.finishedTasks = finishedTasks;
+			this.cancelledTasks = cancelledTasks;
+			this.waitTimeHistogram = waitTimeHistogram;
+			this.runTimeHistogram = runTimeHistogram;
+		}
+
+		/**
+		 * @return the number of tasks submitted but not started yet
+		 */
+		public int getQueueDepth() {
+			return queueDepth;
+		}
+
+		/**
+		 * @return the highest queue depth since the metrics were created or
+		 *         reset
+		 */
+		public int getMaxQueueDepth() {
+			return maxQueueDepth;
+		}
+
+		public long getFinishedTasks() {
+			return finishedTasks;
+		}
+
+		public long getCancelledTasks() {
+			return cancelledTasks;
+		}
+
+		/**
+		 * @return the number of started tasks which waited for at most each
+		 *         of {@link BackgroundExecutorMetrics#BUCKET_BOUNDS_MILLIS},
+		 *         plus the number of tasks which waited longer
+		 */
+		public long[] getWaitTimeHistogram() {
+			return waitTimeHistogram.clone();
+		}
+
+		/**
+		 * @return the number of finished tasks which ran for at most each of
+		 *         {@link BackgroundExecutorMetrics#BUCKET_BOUNDS_MILLIS}, plus
+		 *         the number of tasks which ran longer
+		 */
+		public long[] getRunTimeHistogram() {
+			return runTimeHistogram.clone();
+		}
+	}
+
+	private static class Collector {
+
+		private final AtomicInteger queueDepth = new AtomicInteger();
+		private final AtomicInteger maxQueueDepth = new AtomicInteger();
+		private final AtomicLong finishedTasks = new AtomicLong();
+		private final AtomicLong cancelledTasks = new AtomicLong();
+		private final AtomicLongArray waitTimeHistogram = new AtomicLongArray(BUCKET_BOUNDS_MILLIS.length + 1);
+		private final AtomicLongArray runTimeHistogram = new AtomicLongArray(BUCKET_BOUNDS_MILLIS.length + 1);
+
+		void enqueued() {
+			int depth = queueDepth.incrementAndGet();
+			int maxDepth = maxQueueDepth.get();
+			while (depth > maxDepth && !maxQueueDepth.compareAndSet(maxDepth, depth)) {
+				maxDepth = maxQueueDepth.get();
+			}
+		}
+
+		SerialMetrics snapshot() {
+			return new SerialMetrics(queueDepth.get(), maxQueueDepth.get(), finishedTasks.get(), cancelledTasks.get(), toArray(waitTimeHistogram), toArray(runTimeHistogram));
+		}
+
+		private long[] toArray(AtomicLongArray histogram) {
+			long[] values = new long[histogram.length()];
+			for (int i = 0; i < values.length; i++) {
+				values[i] = histogram.get(i);
+			}
+			return values;
+		}
+	}
+
+	@Override
+	public void onEnqueued(String id, String serial, long enqueueTime) {
+		collector(serial).enqueued();
+	}
+
+	@Override
+	public void onStarted(String id, String serial, long enqueueTime, long startTime) {
+		Collector collector = collector(serial);
+		collector.queueDepth.decrementAndGet();
+		collector.waitTimeHistogram.incrementAndGet(bucket(startTime - enqueueTime));
+	}
+
+	@Override
+	public void onFinished(String id, String serial, long startTime, long finishTime) {
+		Collector collector = collector(serial);
+		collector.finishedTasks.incrementAndGet();
+		collector.runTimeHistogram.incrementAndGet(bucket(finishTime - startTime));
+	}
+
+	@Override
+	public void onCancelled(String id, String serial, long enqueueTime, long cancelTime) {
+		Collector collector = collector(serial);
+		collector.queueDepth.decrementAndGet();
+		collector.cancelledTasks.incrementAndGet();
+	}
+
+	/**
+	 * @return a snapshot of the metrics of each serial, sorted by serial
+	 */
+	public Map<String, SerialMetrics> getSerialMetrics() {
+		Map<String, SerialMetrics> metrics = new TreeMap<String, SerialMetrics>();
+		for (Map.Entry<String, Collector> collector : collectors.entrySet()) {
+			metrics.put(collector.getKey(), collector.getValue().snapshot());
+		}
+		return metrics;
+	}
+
+	/**
+	 * Forgets all the collected metrics. The depth of the queues is counted
+	 * again from zero, so it should be reset when no task is waiting.
+	 */
+	public void reset() {
+		collectors.clear();
+	}
+
+	private Collector collector(String serial) {
+		String key = serial != null ? serial : NO_SERIAL;
+		Collector collector = collectors.get(key);
+		if (collector == null) {
+			collector = new Collector();
+			Collector existingCollector = collectors.putIfAbsent(key, collector);
+			if (existingCollector != null) {
+				collector = existingCollector;
+			}
+		}
+		return collector;
+	}
+
+	private int bucket(long durationNanos) {
+		long durationMillis = TimeUnit.NANOSECONDS.toMillis(durationNanos);
+		for (int i = 0; i < BUCKET_BOUNDS_MILLIS.length; i++) {
+			if (durationMillis <= BUCKET_BOUNDS_MILLIS[i]) {
+				return i;
+			}
+		}
+		return BUCKET_BOUNDS_MILLIS.length;
+	}
+
+}
@@ -0,0 +1,208 @@
+/**
+ * Copyright (C) 2010-2014 eBusiness Information, Excilys Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.api;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A fixed size thread pool whose waiting tasks are executed by decreasing
+ * {@link BackgroundExecutor.Task} priority, then in submission order. Other
+ * runnables have a priority of <code>0</code>.
+ * 
+ * Delayed tasks are held by a single scheduler thread, and queued in the pool
+ * once their delay has elapsed.
+ */
+public class PriorityScheduledExecutor extends ThreadPoolExecutor implements ScheduledExecutorService {
+
+	private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+	private final AtomicLong sequence = new AtomicLong();
+
+	public PriorityScheduledExecutor(int poolSize) {
+		super(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS, new PriorityBlockingQueue<Runnable>());
+	}
+
+	private class PriorityFutureTask<V> extends FutureTask<V> implements Comparable<PriorityFutureTask<?>> {
+
+		private final int priority;
+		private final long sequenceNumber = sequence.getAndIncrement();
+
+		PriorityFutureTask(Runnable runnable, V result) {
+			super(runnable, result);
+			priority = runnable instanceof BackgroundExecutor.Task ? ((BackgroundExecutor.Task) runnable).getPriority() : 0;
+		}
+
+		PriorityFutureTask(Callable<V> callable) {
+			super(callable);
+			priority = 0;
+		}
+
+		@Override
+		public int compareTo(PriorityFutureTask<?> other) {
+			if (priority != other.priority) {
+				return priority > other.priority ? -1 : 1;
+			}
+			return sequenceNumber < other.sequenceNumber ? -1 : sequenceNumber == other.sequenceNumber ? 0 : 1;
+		}
+	}
+
+	/**
+	 * The future of a task waiting for its delay to elapse, then for a thread.
+	 */
+	private static class DelayedFuture<V> implements ScheduledFuture<V> {
+
+		private final ScheduledFuture<?> timer;
+		private final FutureTask<V> task;
+
+		DelayedFuture(ScheduledFuture<?> timer, FutureTask<V> task) {
+			this.timer = timer;
+			this.task = task;
+		}
+
+		@Override
+		public long getDelay(TimeUnit unit) {
+			return timer.getDelay(unit);
+		}
+
+		@Override
+		public int compareTo(Delayed other) {
+			long delay = getDelay(TimeUnit.NANOSECONDS);
+			long otherDelay = other.getDelay(TimeUnit.NANOSECONDS);
+			return delay < otherDelay ? -1 : delay == otherDelay ? 0 : 1;
+		}
+
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			timer.cancel(false);
+			return task.cancel(mayInterruptIfRunning);
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return task.isCancelled();
+		}
+
+		@Override
+		public boolean isDone() {
+			return task.isDone();
+		}
+
+		@Override
+		public V get() throws InterruptedException, ExecutionException {
+			return task.get();
+		}
+
+		@Override
+		public V get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+			return task.get(timeout, unit);
+		}
+	}
+
+	@Override
+	protected <T> RunnableFuture<T> newTaskFor(Runnable runnable, T value) {
+		return new PriorityFutureTask<T>(runnable, value);
+	}
+
+	@Override
+	protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
+		return new PriorityFutureTask<T>(callable);
+	}
+
+	@Override
+	public void execute(Runnable command) {
+		if (command instanceof PriorityFutureTask) {
+			super.execute(command);
+		} else {
+			/* the queue only accepts comparable tasks */
+			super.execute(newTaskFor(command, null));
+		}
+	}
+
+	@Override
+	public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+		return schedule(new PriorityFutureTask<Void>(command, null), delay, unit);
+	}
+
+	@Override
+	public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+		return schedule(new PriorityFutureTask<V>(callable), delay, unit);
+	}
+
+	private <V> ScheduledFuture<V> schedule(final PriorityFutureTask<V> task, long delay, TimeUnit unit) {
+		ScheduledFuture<?> timer = scheduler.schedule(new Runnable() {
+			@Override
+			public void run() {
+				if (!task.isCancelled()) {
+					execute(task);
+				}
+			}
+		}, delay, unit);
+		return new DelayedFuture<V>(timer, task);
+	}
+
+	/**
+	 * Each execution is queued in the pool, so executions may overlap if they
+	 * wait for a thread longer than the period.
+	 */
+	@Override
+	public ScheduledFuture<?> scheduleAtFixedRate(final Runnable command, long initialDelay, long period, TimeUnit unit) {
+		return scheduler.scheduleAtFixedRate(new Runnable() {
+			@Override
+			public void run() {
+				execute(command);
+			}
+		}, initialDelay, period, unit);
+	}
+
+	/**
+	 * The delay is measured from the time each execution is queued in the
+	 * pool, not from its completion.
+	 */
+	@Override
+	public ScheduledFuture<?> scheduleWithFixedDelay(final Runnable command, long initialDelay, long delay, TimeUnit unit) {
+		return scheduler.scheduleWithFixedDelay(new Runnable() {
+			@Override
+			public void run() {
+				execute(command);
+			}
+		}, initialDelay, delay, unit);
+	}
+
+	@Override
+	public void shutdown() {
+		scheduler.shutdown();
+		super.shutdown();
+	}
+
+	@Override
+	public List<Runnable> shutdownNow() {
+		scheduler.shutdownNow();
+		return super.shutdownNow();
+	}
+
+}
@@ -0,0 +1,72 @@
+/**
+ * Copyright (C) 2010-2014 eBusiness Information, Excilys Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.api;
+
+/**
+ * A small thread safe pool of reusable objects.
+ * 
+ * The generated code of the <code>@UiThread</code> annotated methods uses it
+ * to recycle the runnables holding the parameters of each call instead of
+ * allocating a new one each time: a runnable is acquired by the caller and
+ * released by itself on the UI thread, once it has copied its parameters.
+ * 
+ * @param <T>
+ *            the type of the pooled objects
+ */
+public class RunnablePool<T> {
+
+	public static final int DEFAULT_MAX_SIZE = 8;
+
+	private final Object[] pool;
+	private int size;
+
+	public RunnablePool() {
+		this(DEFAULT_MAX_SIZE);
+	}
+
+	public RunnablePool(int maxSize) {
+		pool = new Object[maxSize];
+	}
+
+	/**
+	 * @return a released object, or <b>null</b> if the pool is empty
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized T acquire() {
+		if (size == 0) {
+			return null;
+		}
+		size--;
+		T instance = (T) pool[size];
+		pool[size] = null;
+		return instance;
+	}
+
+	/**
+	 * Gives back an object which is not used any more. It is dropped if the
+	 * pool is full.
+	 * 
+	 * @param instance
+	 *            the object to reuse
+	 */
+	public synchronized void release(T instance) {
+		if (size < pool.length) {
+			pool[size] = instance;
+			size++;
+		}
+	}
+
+}
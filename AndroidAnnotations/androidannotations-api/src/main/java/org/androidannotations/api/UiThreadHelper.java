@@ -0,0 +1,37 @@
+/**
+ * Copyright (C) 2010-2014 eBusiness Information, Excilys Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.api;
+
+import android.os.Looper;
+
+/**
+ * Used by the generated code of the <code>@UiThread</code> annotated methods.
+ */
+public final class UiThreadHelper {
+
+	private static final Thread MAIN_THREAD = Looper.getMainLooper().getThread();
+
+	private UiThreadHelper() {
+	}
+
+	/**
+	 * @return <b>true</b> if the calling thread is the main thread
+	 */
+	public static boolean isUiThread() {
+		return Thread.currentThread() == MAIN_THREAD;
+	}
+
+}
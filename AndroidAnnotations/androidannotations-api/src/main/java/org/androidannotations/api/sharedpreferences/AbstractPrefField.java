@@ -23,9 +23,28 @@ public abstract class AbstractPrefField {
 	protected final SharedPreferences sharedPreferences;
 	protected final String key;
 
+	/**
+	 * When enabled, the typed fields keep the value read by <code>get()</code>
+	 * until it is invalidated by a write of this field or by the listener of
+	 * the {@link SharedPreferencesHelper}.
+	 */
+	final boolean cacheEnabled;
+	volatile boolean cacheValid;
+
+	/**
+	 * The helper which created this field, giving the editor of the current
+	 * batch.
+	 */
+	SharedPreferencesHelper helper;
+
 	public AbstractPrefField(SharedPreferences sharedPreferences, String key) {
+		this(sharedPreferences, key, false);
+	}
+
+	AbstractPrefField(SharedPreferences sharedPreferences, String key, boolean cacheEnabled) {
 		this.sharedPreferences = sharedPreferences;
 		this.key = key;
+		this.cacheEnabled = cacheEnabled;
 	}
 
 	public final boolean exists() {
@@ -41,11 +60,29 @@ public abstract class AbstractPrefField {
 	}
 
 	protected Editor edit() {
-		return sharedPreferences.edit();
+		Editor batchEditor = getBatchEditor();
+		return batchEditor != null ? batchEditor : sharedPreferences.edit();
 	}
 
 	protected final void apply(Editor editor) {
-		SharedPreferencesCompat.apply(editor);
+		if (editor == getBatchEditor()) {
+			// applied at the end of the batch
+			return;
+		}
+		if (helper != null) {
+			helper.apply(editor);
+		} else {
+			SharedPreferencesCompat.apply(editor);
+		}
+		invalidate();
+	}
+
+	private Editor getBatchEditor() {
+		return helper != null ? helper.getBatchEditor() : null;
+	}
+
+	final synchronized void invalidate() {
+		cacheValid = false;
 	}
 
 }
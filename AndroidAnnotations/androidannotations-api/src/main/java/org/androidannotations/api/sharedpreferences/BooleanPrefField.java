@@ -20,14 +20,26 @@ import android.content.SharedPreferences;
 public final class BooleanPrefField extends AbstractPrefField {
 
 	private final boolean defaultValue;
+	private volatile boolean cachedValue;
 
-	BooleanPrefField(SharedPreferences sharedPreferences, String key, boolean defaultValue) {
-		super(sharedPreferences, key);
+	BooleanPrefField(SharedPreferences sharedPreferences, String key, boolean defaultValue, boolean cacheEnabled) {
+		super(sharedPreferences, key, cacheEnabled);
 		this.defaultValue = defaultValue;
 	}
 
 	public boolean get() {
-		return getOr(defaultValue);
+		if (!cacheEnabled) {
+			return getOr(defaultValue);
+		}
+		if (!cacheValid) {
+			synchronized (this) {
+				if (!cacheValid) {
+					cachedValue = getOr(defaultValue);
+					cacheValid = true;
+				}
+			}
+		}
+		return cachedValue;
 	}
 
 	public boolean getOr(boolean defaultValue) {
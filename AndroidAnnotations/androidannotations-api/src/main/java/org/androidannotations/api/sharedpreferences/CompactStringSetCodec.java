@@ -0,0 +1,82 @@
+/**
+ * Copyright (C) 2010-2014 eBusiness Information, Excilys Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.api.sharedpreferences;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * The default {@link StringSetCodec}, which prefixes each string with its
+ * length, so that the strings do not have to be escaped:
+ * <code>AA_cset:3:foo5:hello</code>.
+ */
+public class CompactStringSetCodec implements StringSetCodec {
+
+	private static final String PREFIX = "AA_cset:";
+	private static final char LENGTH_SEPARATOR = ':';
+
+	@Override
+	public String encode(Set<String> set) {
+		if (set == null) {
+			set = Collections.emptySet();
+		}
+
+		int capacity = PREFIX.length();
+		for (String string : set) {
+			capacity += string.length() + 4;
+		}
+
+		StringBuilder builder = new StringBuilder(capacity).append(PREFIX);
+		for (String string : set) {
+			builder.append(string.length()).append(LENGTH_SEPARATOR).append(string);
+		}
+		return builder.toString();
+	}
+
+	@Override
+	public Set<String> decode(String data) {
+		if (!data.startsWith(PREFIX)) {
+			return null;
+		}
+
+		Set<String> set = new LinkedHashSet<String>();
+		int position = PREFIX.length();
+		int dataLength = data.length();
+		while (position < dataLength) {
+			int separator = data.indexOf(LENGTH_SEPARATOR, position);
+			if (separator < 0) {
+				return null;
+			}
+
+			int length;
+			try {
+				length = Integer.parseInt(data.substring(position, separator));
+			} catch (NumberFormatException e) {
+				return null;
+			}
+
+			if (length < 0 || length > dataLength - separator - 1) {
+				return null;
+			}
+			int end = separator + 1 + length;
+			set.add(data.substring(separator + 1, end));
+			position = end;
+		}
+		return set;
+	}
+
+}
@@ -15,6 +15,8 @@
  */
 package org.androidannotations.api.sharedpreferences;
 
+import java.util.Set;
+
 import android.content.SharedPreferences;
 import android.content.SharedPreferences.Editor;
 
@@ -36,9 +38,37 @@ public abstract class EditorHelper<T extends EditorHelper<T>> {
 	}
 
 	public final void apply() {
+		apply(editor);
+	}
+
+	/**
+	 * Applies the given editor. Calls {@link SharedPreferencesCompat} by
+	 * default, the generated subclass overrides it with a direct call when the
+	 * minimum SDK version of the application has <code>Editor.apply()</code>.
+	 * 
+	 * @param editor
+	 *            the editor to apply
+	 */
+	protected void apply(Editor editor) {
 		SharedPreferencesCompat.apply(editor);
 	}
 
+	/**
+	 * Writes a string set. Calls {@link SharedPreferencesCompat} by default,
+	 * the generated subclass overrides it with a direct call when the minimum
+	 * SDK version of the application supports string sets.
+	 * 
+	 * @param editor
+	 *            the editor to write to
+	 * @param key
+	 *            the name of the preference
+	 * @param values
+	 *            the new string set
+	 */
+	protected void putStringSet(Editor editor, String key, Set<String> values) {
+		SharedPreferencesCompat.putStringSet(editor, key, values);
+	}
+
 	protected IntPrefEditorField<T> intField(String key) {
 		return new IntPrefEditorField<T>(cast(), key);
 	}
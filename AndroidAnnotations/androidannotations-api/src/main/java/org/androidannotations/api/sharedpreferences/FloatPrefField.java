@@ -20,14 +20,26 @@ import android.content.SharedPreferences;
 public final class FloatPrefField extends AbstractPrefField {
 
 	private final float defaultValue;
+	private volatile float cachedValue;
 
-	FloatPrefField(SharedPreferences sharedPreferences, String key, float defaultValue) {
-		super(sharedPreferences, key);
+	FloatPrefField(SharedPreferences sharedPreferences, String key, float defaultValue, boolean cacheEnabled) {
+		super(sharedPreferences, key, cacheEnabled);
 		this.defaultValue = defaultValue;
 	}
 
 	public float get() {
-		return getOr(defaultValue);
+		if (!cacheEnabled) {
+			return getOr(defaultValue);
+		}
+		if (!cacheValid) {
+			synchronized (this) {
+				if (!cacheValid) {
+					cachedValue = getOr(defaultValue);
+					cacheValid = true;
+				}
+			}
+		}
+		return cachedValue;
 	}
 
 	public float getOr(float defaultValue) {
@@ -20,14 +20,26 @@ import android.content.SharedPreferences;
 public final class IntPrefField extends AbstractPrefField {
 
 	private final int defaultValue;
+	private volatile int cachedValue;
 
-	IntPrefField(SharedPreferences sharedPreferences, String key, int defaultValue) {
-		super(sharedPreferences, key);
+	IntPrefField(SharedPreferences sharedPreferences, String key, int defaultValue, boolean cacheEnabled) {
+		super(sharedPreferences, key, cacheEnabled);
 		this.defaultValue = defaultValue;
 	}
 
 	public int get() {
-		return getOr(defaultValue);
+		if (!cacheEnabled) {
+			return getOr(defaultValue);
+		}
+		if (!cacheValid) {
+			synchronized (this) {
+				if (!cacheValid) {
+					cachedValue = getOr(defaultValue);
+					cacheValid = true;
+				}
+			}
+		}
+		return cachedValue;
 	}
 
 	public int getOr(int defaultValue) {
@@ -20,14 +20,26 @@ import android.content.SharedPreferences;
 public final class LongPrefField extends AbstractPrefField {
 
 	private final long defaultValue;
+	private volatile long cachedValue;
 
-	LongPrefField(SharedPreferences sharedPreferences, String key, long defaultValue) {
-		super(sharedPreferences, key);
+	LongPrefField(SharedPreferences sharedPreferences, String key, long defaultValue, boolean cacheEnabled) {
+		super(sharedPreferences, key, cacheEnabled);
 		this.defaultValue = defaultValue;
 	}
 
 	public long get() {
-		return getOr(defaultValue);
+		if (!cacheEnabled) {
+			return getOr(defaultValue);
+		}
+		if (!cacheValid) {
+			synchronized (this) {
+				if (!cacheValid) {
+					cachedValue = getOr(defaultValue);
+					cacheValid = true;
+				}
+			}
+		}
+		return cachedValue;
 	}
 
 	public long getOr(long defaultValue) {
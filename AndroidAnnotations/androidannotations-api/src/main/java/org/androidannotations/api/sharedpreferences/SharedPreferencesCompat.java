@@ -17,7 +17,10 @@ package org.androidannotations.api.sharedpreferences;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
 
 import android.content.SharedPreferences;
 
@@ -34,6 +37,41 @@ public abstract class SharedPreferencesCompat {
 	private static final Method sGetStringSetMethod = findMethod(SharedPreferences.class, "getStringSet", String.class, Set.class);
 	private static final Method sPutStringSetMethod = findMethod(SharedPreferences.Editor.class, "putStringSet", String.class, Set.class);
 
+	private static final int DECODED_SETS_CACHE_SIZE = 16;
+
+	private static final StringSetCodec DEFAULT_STRING_SET_CODEC = new CompactStringSetCodec();
+
+	private static volatile StringSetCodec stringSetCodec = DEFAULT_STRING_SET_CODEC;
+
+	/**
+	 * The last decoded sets, by encoded value. The preferences return the same
+	 * String instance until the value changes, so a lookup is cheap.
+	 */
+	private static final Map<String, Set<String>> decodedSets = new LinkedHashMap<String, Set<String>>(DECODED_SETS_CACHE_SIZE, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Set<String>> eldest) {
+			return size() > DECODED_SETS_CACHE_SIZE;
+		}
+	};
+
+	/**
+	 * Changes how the string sets are stored when the platform does not
+	 * support them. The values written by the default codec, as well as the
+	 * XML values written by the former versions, can still be read as long as
+	 * the new codec does not recognize them.
+	 * 
+	 * @param codec
+	 *            the codec to use from now on
+	 */
+	public static void setStringSetCodec(StringSetCodec codec) {
+		stringSetCodec = codec;
+		synchronized (decodedSets) {
+			decodedSets.clear();
+		}
+	}
+
 	public static void apply(SharedPreferences.Editor editor) {
 		try {
 			invoke(sApplyMethod, editor);
@@ -48,7 +86,10 @@ public abstract class SharedPreferencesCompat {
 			return invoke(sGetStringSetMethod, preferences, key, defValues);
 		} catch (NoSuchMethodException e) {
 			String serializedSet = preferences.getString(key, null);
-			return SetXmlSerializer.deserialize(serializedSet);
+			if (serializedSet == null) {
+				return defValues;
+			}
+			return decodeStringSet(serializedSet);
 		}
 	}
 
@@ -56,8 +97,39 @@ public abstract class SharedPreferencesCompat {
 		try {
 			invoke(sPutStringSetMethod, editor, key, values);
 		} catch (NoSuchMethodException e1) {
-			editor.putString(key, SetXmlSerializer.serialize(values));
+			editor.putString(key, stringSetCodec.encode(values));
+		}
+	}
+
+	/**
+	 * The decoded set is kept for the following reads of the same value, and
+	 * each read returns a sorted copy of it that the caller may modify, as
+	 * the XML values used to be read.
+	 */
+	private static Set<String> decodeStringSet(String serializedSet) {
+		synchronized (decodedSets) {
+			Set<String> set = decodedSets.get(serializedSet);
+			if (set != null) {
+				return new TreeSet<String>(set);
+			}
+		}
+
+		StringSetCodec codec = stringSetCodec;
+		Set<String> set = codec.decode(serializedSet);
+		if (set == null && codec != DEFAULT_STRING_SET_CODEC) {
+			set = DEFAULT_STRING_SET_CODEC.decode(serializedSet);
+		}
+		if (set == null) {
+			set = SetXmlSerializer.deserialize(serializedSet);
+			if (set == null) {
+				return null;
+			}
+		}
+
+		synchronized (decodedSets) {
+			decodedSets.put(serializedSet, set);
 		}
+		return new TreeSet<String>(set);
 	}
 
 	private static Method findMethod(Class<?> clazz, String name, Class<?>... parameterTypes) {
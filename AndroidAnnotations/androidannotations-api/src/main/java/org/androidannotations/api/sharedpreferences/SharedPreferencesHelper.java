@@ -16,15 +16,64 @@
 package org.androidannotations.api.sharedpreferences;
 
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import android.content.SharedPreferences;
+import android.content.SharedPreferences.Editor;
+import android.content.SharedPreferences.OnSharedPreferenceChangeListener;
 
 public abstract class SharedPreferencesHelper {
 
 	private final SharedPreferences sharedPreferences;
+	private final boolean cacheEnabled;
+
+	/**
+	 * The fields keeping their value, by key. Empty unless the cache is
+	 * enabled.
+	 */
+	private final ConcurrentMap<String, AbstractPrefField> cachedFields = new ConcurrentHashMap<String, AbstractPrefField>();
+
+	/**
+	 * The editor collecting the writes of the current thread, while it runs
+	 * {@link #batch(Runnable)}.
+	 */
+	private final ThreadLocal<Editor> batchEditor = new ThreadLocal<Editor>();
+
+	/*
+	 * The SharedPreferences only keep a weak reference to their listeners
+	 */
+	private final OnSharedPreferenceChangeListener cacheInvalidator = new OnSharedPreferenceChangeListener() {
+		@Override
+		public void onSharedPreferenceChanged(SharedPreferences sharedPreferences, String key) {
+			if (key == null) {
+				invalidateCachedFields();
+				return;
+			}
+			AbstractPrefField field = cachedFields.get(key);
+			if (field != null) {
+				field.invalidate();
+			}
+		}
+	};
 
 	public SharedPreferencesHelper(SharedPreferences sharedPreferences) {
+		this(sharedPreferences, false);
+	}
+
+	/**
+	 * @param sharedPreferences
+	 *            the preferences to read and write
+	 * @param cacheEnabled
+	 *            whether the fields should keep the last value read, until
+	 *            the preference changes
+	 */
+	public SharedPreferencesHelper(SharedPreferences sharedPreferences, boolean cacheEnabled) {
 		this.sharedPreferences = sharedPreferences;
+		this.cacheEnabled = cacheEnabled;
+		if (cacheEnabled) {
+			sharedPreferences.registerOnSharedPreferenceChangeListener(cacheInvalidator);
+		}
 	}
 
 	public final SharedPreferences getSharedPreferences() {
@@ -32,30 +81,138 @@ public abstract class SharedPreferencesHelper {
 	}
 
 	public final void clear() {
-		SharedPreferencesCompat.apply(sharedPreferences.edit().clear());
+		Editor editor = batchEditor.get();
+		if (editor != null) {
+			editor.clear();
+			return;
+		}
+		apply(sharedPreferences.edit().clear());
+		// clearing the preferences does not notify the listeners
+		invalidateCachedFields();
+	}
+
+	/**
+	 * Runs the given writes with a single editor, applied once they are all
+	 * done, so that the preferences file is written only once.
+	 * 
+	 * <pre>
+	 * prefs.batch(new Runnable() {
+	 * 	&#064;Override
+	 * 	public void run() {
+	 * 		prefs.name().put(&quot;John&quot;);
+	 * 		prefs.age().put(42);
+	 * 	}
+	 * });
+	 * </pre>
+	 * 
+	 * Only the writes of the calling thread are part of the batch, and they
+	 * are visible to the reads once the batch is applied. As with any editor,
+	 * a {@link #clear()} is done before the other writes of the batch. Nothing
+	 * is written if the writes throw an exception. A batch started inside
+	 * another one is part of the outer batch.
+	 * 
+	 * @param writes
+	 *            the writes to apply together
+	 */
+	public final void batch(Runnable writes) {
+		if (batchEditor.get() != null) {
+			writes.run();
+			return;
+		}
+
+		Editor editor = sharedPreferences.edit();
+		batchEditor.set(editor);
+		try {
+			writes.run();
+		} finally {
+			batchEditor.remove();
+		}
+		apply(editor);
+		invalidateCachedFields();
+	}
+
+	Editor getBatchEditor() {
+		return batchEditor.get();
+	}
+
+	/**
+	 * Applies the given editor. Calls {@link SharedPreferencesCompat} by
+	 * default, the generated subclass overrides it with a direct call when the
+	 * minimum SDK version of the application has <code>Editor.apply()</code>.
+	 * 
+	 * @param editor
+	 *            the editor to apply
+	 */
+	protected void apply(Editor editor) {
+		SharedPreferencesCompat.apply(editor);
+	}
+
+	/**
+	 * Reads a string set. Calls {@link SharedPreferencesCompat} by default,
+	 * the generated subclass overrides it with a direct call when the minimum
+	 * SDK version of the application supports string sets.
+	 * 
+	 * @param key
+	 *            the name of the preference
+	 * @param defValues
+	 *            the value to return if the preference does not exist
+	 * @return the string set
+	 */
+	protected Set<String> getStringSet(String key, Set<String> defValues) {
+		return SharedPreferencesCompat.getStringSet(sharedPreferences, key, defValues);
+	}
+
+	/**
+	 * Writes a string set. Calls {@link SharedPreferencesCompat} by default,
+	 * the generated subclass overrides it with a direct call when the minimum
+	 * SDK version of the application supports string sets.
+	 * 
+	 * @param editor
+	 *            the editor to write to
+	 * @param key
+	 *            the name of the preference
+	 * @param values
+	 *            the new string set
+	 */
+	protected void putStringSet(Editor editor, String key, Set<String> values) {
+		SharedPreferencesCompat.putStringSet(editor, key, values);
+	}
+
+	private void invalidateCachedFields() {
+		for (AbstractPrefField field : cachedFields.values()) {
+			field.invalidate();
+		}
+	}
+
+	private <T extends AbstractPrefField> T register(T field) {
+		field.helper = this;
+		if (cacheEnabled) {
+			cachedFields.put(field.key(), field);
+		}
+		return field;
 	}
 
 	protected IntPrefField intField(String key, int defaultValue) {
-		return new IntPrefField(sharedPreferences, key, defaultValue);
+		return register(new IntPrefField(sharedPreferences, key, defaultValue, cacheEnabled));
 	}
 
 	protected StringPrefField stringField(String key, String defaultValue) {
-		return new StringPrefField(sharedPreferences, key, defaultValue);
+		return register(new StringPrefField(sharedPreferences, key, defaultValue, cacheEnabled));
 	}
 
 	protected StringSetPrefField stringSetField(String key, Set<String> defaultValue) {
-		return new StringSetPrefField(sharedPreferences, key, defaultValue);
+		return register(new StringSetPrefField(sharedPreferences, key, defaultValue, cacheEnabled));
 	}
 
 	protected BooleanPrefField booleanField(String key, boolean defaultValue) {
-		return new BooleanPrefField(sharedPreferences, key, defaultValue);
+		return register(new BooleanPrefField(sharedPreferences, key, defaultValue, cacheEnabled));
 	}
 
 	protected FloatPrefField floatField(String key, float defaultValue) {
-		return new FloatPrefField(sharedPreferences, key, defaultValue);
+		return register(new FloatPrefField(sharedPreferences, key, defaultValue, cacheEnabled));
 	}
 
 	protected LongPrefField longField(String key, long defaultValue) {
-		return new LongPrefField(sharedPreferences, key, defaultValue);
+		return register(new LongPrefField(sharedPreferences, key, defaultValue, cacheEnabled));
 	}
 }
@@ -20,14 +20,26 @@ import android.content.SharedPreferences;
 public final class StringPrefField extends AbstractPrefField {
 
 	private final String defaultValue;
+	private volatile String cachedValue;
 
-	StringPrefField(SharedPreferences sharedPreferences, String key, String defaultValue) {
-		super(sharedPreferences, key);
+	StringPrefField(SharedPreferences sharedPreferences, String key, String defaultValue, boolean cacheEnabled) {
+		super(sharedPreferences, key, cacheEnabled);
 		this.defaultValue = defaultValue;
 	}
 
 	public String get() {
-		return getOr(defaultValue);
+		if (!cacheEnabled) {
+			return getOr(defaultValue);
+		}
+		if (!cacheValid) {
+			synchronized (this) {
+				if (!cacheValid) {
+					cachedValue = getOr(defaultValue);
+					cacheValid = true;
+				}
+			}
+		}
+		return cachedValue;
 	}
 
 	public String getOr(String defaultValue) {
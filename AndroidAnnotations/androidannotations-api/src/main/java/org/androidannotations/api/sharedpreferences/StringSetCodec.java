@@ -0,0 +1,38 @@
+/**
+ * Copyright (C) 2010-2014 eBusiness Information, Excilys Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.api.sharedpreferences;
+
+import java.util.Set;
+
+/**
+ * Stores a set of strings in a single string preference, on the platforms
+ * where {@link android.content.SharedPreferences} do not support string sets.
+ * 
+ * @see SharedPreferencesCompat#setStringSetCodec(StringSetCodec)
+ */
+public interface StringSetCodec {
+
+	String encode(Set<String> set);
+
+	/**
+	 * @param data
+	 *            a value of a string set preference
+	 * @return the decoded set, or <b>null</b> if the data has not been encoded
+	 *         by this codec
+	 */
+	Set<String> decode(String data);
+
+}
@@ -24,7 +24,7 @@ public final class StringSetPrefEditorField<T extends EditorHelper<T>> extends A
 	}
 
 	public T put(Set<String> value) {
-		SharedPreferencesCompat.putStringSet(editorHelper.getEditor(), key, value);
+		editorHelper.putStringSet(editorHelper.getEditor(), key, value);
 		return editorHelper;
 	}
 }
@@ -22,23 +22,42 @@ import android.content.SharedPreferences;
 public final class StringSetPrefField extends AbstractPrefField {
 
 	private final Set<String> defaultValue;
+	private volatile Set<String> cachedValue;
 
-	StringSetPrefField(SharedPreferences sharedPreferences, String key, Set<String> defaultValue) {
-		super(sharedPreferences, key);
+	StringSetPrefField(SharedPreferences sharedPreferences, String key, Set<String> defaultValue, boolean cacheEnabled) {
+		super(sharedPreferences, key, cacheEnabled);
 		this.defaultValue = defaultValue;
 	}
 
 	public Set<String> get() {
-		return getOr(defaultValue);
+		if (!cacheEnabled) {
+			return getOr(defaultValue);
+		}
+		if (!cacheValid) {
+			synchronized (this) {
+				if (!cacheValid) {
+					cachedValue = getOr(defaultValue);
+					cacheValid = true;
+				}
+			}
+		}
+		return cachedValue;
 	}
 
 	public Set<String> getOr(Set<String> defaultValue) {
+		if (helper != null) {
+			return helper.getStringSet(key, defaultValue);
+		}
 		return SharedPreferencesCompat.getStringSet(sharedPreferences, key, defaultValue);
 	}
 
 	public void put(Set<String> value) {
-		SharedPreferences.Editor editor = sharedPreferences.edit();
-		SharedPreferencesCompat.putStringSet(editor, key, value);
+		SharedPreferences.Editor editor = edit();
+		if (helper != null) {
+			helper.putStringSet(editor, key, value);
+		} else {
+			SharedPreferencesCompat.putStringSet(editor, key, value);
+		}
 		apply(editor);
 	}
 }
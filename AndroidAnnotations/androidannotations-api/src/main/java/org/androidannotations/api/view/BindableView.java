@@ -0,0 +1,39 @@
+/**
+ * Copyright (C) 2010-2014 eBusiness Information, Excilys Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.api.view;
+
+/**
+ * A view which displays one item of an adapter. Let an
+ * <code>@EViewGroup</code> implement this interface to use it with a
+ * {@link BindableViewAdapter}: its <code>@ViewById</code> fields are found
+ * once when the view is built, and only {@link #bind(Object)} runs when the
+ * view is recycled.
+ * 
+ * @param <T>
+ *            the type of the items
+ */
+public interface BindableView<T> {
+
+	/**
+	 * Displays the given item. Called each time the view is used for a new
+	 * item or the data of the adapter changes.
+	 * 
+	 * @param item
+	 *            the item to display
+	 */
+	void bind(T item);
+
+}
@@ -0,0 +1,124 @@
+/**
+ * Copyright (C) 2010-2014 eBusiness Information, Excilys Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.api.view;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.BaseAdapter;
+
+/**
+ * An adapter which recycles its item views and only binds the data on reuse.
+ * The item views are usually <code>@EViewGroup</code> classes implementing
+ * {@link BindableView}, so that their child views are found once per instance:
+ * 
+ * <pre>
+ * &#064;EBean
+ * public class PersonAdapter extends BindableViewAdapter&lt;Person, PersonItemView&gt; {
+ * 
+ * 	&#064;RootContext
+ * 	Context context;
+ * 
+ * 	&#064;Override
+ * 	protected PersonItemView createView(ViewGroup parent) {
+ * 		return PersonItemView_.build(context);
+ * 	}
+ * }
+ * </pre>
+ * 
+ * @param <T>
+ *            the type of the items
+ * @param <V>
+ *            the type of the item views
+ */
+public abstract class BindableViewAdapter<T, V extends View & BindableView<T>> extends BaseAdapter {
+
+	private final List<T> items = new ArrayList<T>();
+	private int dataVersion;
+
+	/**
+	 * Replaces the items of this adapter and notifies its observers.
+	 * 
+	 * @param newItems
+	 *            the new items
+	 */
+	public void setItems(Collection<? extends T> newItems) {
+		items.clear();
+		if (newItems != null) {
+			items.addAll(newItems);
+		}
+		notifyDataSetChanged();
+	}
+
+	/**
+	 * Creates a new item view. Called only when there is no view to recycle.
+	 * 
+	 * @param parent
+	 *            the parent the view will be attached to
+	 * @return a new item view
+	 */
+	protected abstract V createView(ViewGroup parent);
+
+	@Override
+	public int getCount() {
+		return items.size();
+	}
+
+	@Override
+	public T getItem(int position) {
+		return items.get(position);
+	}
+
+	@Override
+	public long getItemId(int position) {
+		return position;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public View getView(int position, View convertView, ViewGroup parent) {
+		V view;
+		if (convertView == null) {
+			view = createView(parent);
+		} else {
+			view = (V) convertView;
+		}
+
+		T item = getItem(position);
+		if (view instanceof RecyclableView) {
+			((RecyclableView<T>) view).bindIfChanged(item, dataVersion);
+		} else {
+			view.bind(item);
+		}
+		return view;
+	}
+
+	@Override
+	public void notifyDataSetChanged() {
+		dataVersion++;
+		super.notifyDataSetChanged();
+	}
+
+	@Override
+	public void notifyDataSetInvalidated() {
+		dataVersion++;
+		super.notifyDataSetInvalidated();
+	}
+
+}
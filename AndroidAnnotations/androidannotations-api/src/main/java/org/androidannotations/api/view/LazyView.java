@@ -0,0 +1,71 @@
+/**
+ * Copyright (C) 2010-2014 eBusiness Information, Excilys Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.api.view;
+
+import android.view.View;
+
+/**
+ * A view looked up on the first call of {@link #get()} instead of when the
+ * content view is set. Declare a <code>LazyView</code> field annotated with
+ * <code>@ViewById</code> to bind a view which is not needed right away:
+ * 
+ * <pre>
+ * &#064;ViewById(R.id.details)
+ * LazyView&lt;TextView&gt; details;
+ * 
+ * void showDetails(String text) {
+ * 	details.get().setText(text);
+ * }
+ * </pre>
+ * 
+ * @param <T>
+ *            the type of the view
+ */
+public final class LazyView<T extends View> {
+
+	private final int id;
+	private HasViews hasViews;
+	private T view;
+
+	public LazyView(int id) {
+		this.id = id;
+	}
+
+	/**
+	 * @return the view, or <b>null</b> if the content view is not set yet or
+	 *         does not contain it
+	 */
+	@SuppressWarnings("unchecked")
+	public T get() {
+		if (view == null && hasViews != null) {
+			view = (T) hasViews.findViewById(id);
+		}
+		return view;
+	}
+
+	/**
+	 * Called by the generated code when the content view changes, so that the
+	 * next {@link #get()} looks up the view again.
+	 * 
+	 * @param hasViews
+	 *            the new content view
+	 */
+	public void reset(HasViews hasViews) {
+		this.hasViews = hasViews;
+		view = null;
+	}
+
+}
@@ -0,0 +1,45 @@
+/**
+ * Copyright (C) 2010-2014 eBusiness Information, Excilys Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.api.view;
+
+/**
+ * Implemented by the classes generated for an <code>@EViewGroup</code> which
+ * implements {@link BindableView}. The generated class remembers which item it
+ * was last bound to, so that a {@link BindableViewAdapter} does not bind the
+ * same item again when the list lays out the same rows several times.
+ * <p>
+ * The generated class keeps a strong reference to the last item bound, so
+ * each row the list keeps for recycling also keeps its last item reachable,
+ * even after it has been removed from the adapter data.
+ * 
+ * @param <T>
+ *            the type of the items
+ */
+public interface RecyclableView<T> {
+
+	/**
+	 * Calls {@link BindableView#bind(Object)} unless the view is already bound
+	 * to this item for this version of the adapter data.
+	 * 
+	 * @param item
+	 *            the item to display
+	 * @param dataVersion
+	 *            the version of the adapter data, which changes each time the
+	 *            data set changes
+	 */
+	void bindIfChanged(T item, int dataVersion);
+
+}
@@ -0,0 +1,118 @@
+/**
+ * Copyright (C) 2010-2014 eBusiness Information, Excilys Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.api.view;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import android.util.SparseArray;
+import android.view.View;
+import android.view.ViewGroup;
+
+/**
+ * Finds several views with a single walk of the view hierarchy, instead of
+ * one walk per {@link HasViews#findViewById(int)} call.
+ */
+public final class ViewIndex {
+
+	private ViewIndex() {
+	}
+
+	/**
+	 * Indexes the views having the given ids. As with
+	 * {@link View#findViewById(int)}, the first view found in depth-first order
+	 * wins when several views have the same id.
+	 * 
+	 * When the root of the hierarchy cannot be found from the given
+	 * {@link HasViews}, the views are looked up one by one, as are the views
+	 * missing from the walked hierarchy.
+	 * 
+	 * @param hasViews
+	 *            the component containing the views
+	 * @param ids
+	 *            the ids of the needed views
+	 * @return the found views, by id
+	 */
+	public static SparseArray<View> index(HasViews hasViews, int[] ids) {
+		return index(hasViews, root(hasViews), ids);
+	}
+
+	/**
+	 * Same as {@link #index(HasViews, int[])}, but walks the hierarchy from the
+	 * given root, for components such as fragments which are not a view and
+	 * have no {@link android.R.id#content} view of their own.
+	 * 
+	 * @param hasViews
+	 *            the component containing the views
+	 * @param root
+	 *            the root of the view hierarchy of the component, may be null
+	 * @param ids
+	 *            the ids of the needed views
+	 * @return the found views, by id
+	 */
+	public static SparseArray<View> index(HasViews hasViews, View root, int[] ids) {
+		SparseArray<View> views = new SparseArray<View>(ids.length);
+
+		if (root == null) {
+			for (int id : ids) {
+				views.put(id, hasViews.findViewById(id));
+			}
+			return views;
+		}
+
+		int[] sortedIds = ids.clone();
+		Arrays.sort(sortedIds);
+		int remaining = sortedIds.length;
+
+		ArrayList<View> stack = new ArrayList<View>();
+		stack.add(root);
+		while (remaining > 0 && !stack.isEmpty()) {
+			View view = stack.remove(stack.size() - 1);
+
+			int id = view.getId();
+			if (id != View.NO_ID && Arrays.binarySearch(sortedIds, id) >= 0 && views.get(id) == null) {
+				views.put(id, view);
+				remaining--;
+			}
+
+			if (view instanceof ViewGroup) {
+				ViewGroup group = (ViewGroup) view;
+				// pushed backwards so that the first child is visited first
+				for (int i = group.getChildCount() - 1; i >= 0; i--) {
+					stack.add(group.getChildAt(i));
+				}
+			}
+		}
+
+		// the content view of an activity does not contain its decor
+		if (remaining > 0) {
+			for (int id : sortedIds) {
+				if (views.get(id) == null) {
+					views.put(id, hasViews.findViewById(id));
+				}
+			}
+		}
+		return views;
+	}
+
+	private static View root(HasViews hasViews) {
+		if (hasViews instanceof View) {
+			return (View) hasViews;
+		}
+		return hasViews.findViewById(android.R.id.content);
+	}
+
+}
@@ -0,0 +1,174 @@
+/**
+ * Copyright (C) 2010-2014 eBusiness Information, Excilys Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.api;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+
+import org.androidannotations.annotations.Background;
+import org.androidannotations.api.BackgroundExecutorMetrics.SerialMetrics;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BackgroundExecutorMetricsTest {
+
+	private final Queue<Runnable> submittedTasks = new LinkedList<Runnable>();
+	private final RecordingMetrics metrics = new RecordingMetrics();
+
+	@Before
+	public void setup() {
+		/* tasks run one at a time, when the test asks for it */
+		BackgroundExecutor.setExecutor(new Executor() {
+			@Override
+			public void execute(Runnable command) {
+				submittedTasks.add(command);
+			}
+		});
+		BackgroundExecutor.setTaskListener(metrics);
+	}
+
+	@After
+	public void after() {
+		BackgroundExecutor.setTaskListener(null);
+		BackgroundExecutor.setExecutor(BackgroundExecutor.DEFAULT_EXECUTOR);
+	}
+
+	@Test
+	public void events_are_notified_in_order() {
+		BackgroundExecutor.execute(new NamedTask("first", "ordered", 0));
+		BackgroundExecutor.execute(new NamedTask("second", "ordered", 0));
+		assertEquals(2, metrics.get("ordered").getQueueDepth());
+
+		runSubmittedTasks();
+
+		assertEquals(Arrays.asList("enqueued first", "enqueued second", "started first", "finished first", "started second", "finished second"), metrics.events);
+		SerialMetrics serialMetrics = metrics.get("ordered");
+		assertEquals(0, serialMetrics.getQueueDepth());
+		assertEquals(2, serialMetrics.getMaxQueueDepth());
+		assertEquals(2, serialMetrics.getFinishedTasks());
+		assertEquals(0, serialMetrics.getCancelledTasks());
+	}
+
+	@Test
+	public void replaced_tasks_are_cancelled_once() {
+		BackgroundExecutor.execute(new NamedTask("running", "replaced", 1));
+		BackgroundExecutor.execute(new NamedTask("oldest", "replaced", 1));
+		BackgroundExecutor.execute(new NamedTask("older", "replaced", 1));
+		BackgroundExecutor.execute(new NamedTask("latest", "replaced", 1));
+
+		SerialMetrics serialMetrics = metrics.get("replaced");
+		assertEquals(2, serialMetrics.getQueueDepth());
+		assertEquals(3, serialMetrics.getMaxQueueDepth());
+		assertEquals(2, serialMetrics.getCancelledTasks());
+
+		runSubmittedTasks();
+
+		assertEquals(Arrays.asList("started running", "started latest"), metrics.eventsOfKind("started"));
+		assertEquals(Arrays.asList("cancelled oldest", "cancelled older"), metrics.eventsOfKind("cancelled"));
+		assertEquals(0, metrics.get("replaced").getQueueDepth());
+	}
+
+	@Test
+	public void queued_serial_tasks_are_cancelled_once() {
+		BackgroundExecutor.execute(new NamedTask("running", "queued", 0));
+		BackgroundExecutor.execute(new NamedTask("cancelled", "queued", 0));
+		BackgroundExecutor.execute(new NamedTask("coalesced", "queued", 0));
+		BackgroundExecutor.cancelAll("cancelled", false);
+		BackgroundExecutor.executeLatest(new NamedTask("coalesced", "queued", 0));
+		BackgroundExecutor.cancelAll("cancelled", false);
+
+		runSubmittedTasks();
+
+		assertEquals(Arrays.asList("cancelled cancelled", "cancelled coalesced"), metrics.eventsOfKind("cancelled"));
+		assertEquals(Arrays.asList("finished running", "finished coalesced"), metrics.eventsOfKind("finished"));
+		SerialMetrics serialMetrics = metrics.get("queued");
+		assertEquals(0, serialMetrics.getQueueDepth());
+		assertEquals(2, serialMetrics.getFinishedTasks());
+		assertEquals(2, serialMetrics.getCancelledTasks());
+	}
+
+	private void runSubmittedTasks() {
+		Runnable task;
+		while ((task = submittedTasks.poll()) != null) {
+			task.run();
+		}
+	}
+
+	/**
+	 * A task whose id is its name.
+	 */
+	private static class NamedTask extends BackgroundExecutor.Task {
+
+		NamedTask(String name, String serial, int maxPending) {
+			super(name, 0, serial, 0, maxPending, Background.Overflow.REPLACE_OLDEST);
+		}
+
+		@Override
+		public void execute() {
+		}
+	}
+
+	private static class RecordingMetrics extends BackgroundExecutorMetrics {
+
+		final List<String> events = new ArrayList<String>();
+
+		@Override
+		public void onEnqueued(String id, String serial, long enqueueTime) {
+			events.add("enqueued " + id);
+			super.onEnqueued(id, serial, enqueueTime);
+		}
+
+		@Override
+		public void onStarted(String id, String serial, long enqueueTime, long startTime) {
+			events.add("started " + id);
+			super.onStarted(id, serial, enqueueTime, startTime);
+		}
+
+		@Override
+		public void onFinished(String id, String serial, long startTime, long finishTime) {
+			events.add("finished " + id);
+			super.onFinished(id, serial, startTime, finishTime);
+		}
+
+		@Override
+		public void onCancelled(String id, String serial, long enqueueTime, long cancelTime) {
+			events.add("cancelled " + id);
+			super.onCancelled(id, serial, enqueueTime, cancelTime);
+		}
+
+		SerialMetrics get(String serial) {
+			return getSerialMetrics().get(serial);
+		}
+
+		List<String> eventsOfKind(String kind) {
+			List<String> eventsOfKind = new ArrayList<String>();
+			for (String event : events) {
+				if (event.startsWith(kind + " ")) {
+					eventsOfKind.add(event);
+				}
+			}
+			return eventsOfKind;
+		}
+	}
+
+}
@@ -0,0 +1,74 @@
+/**
+ * Copyright (C) 2010-2014 eBusiness Information, Excilys Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.api.sharedpreferences;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class CompactStringSetCodecTest {
+
+	private final CompactStringSetCodec codec = new CompactStringSetCodec();
+
+	@Test
+	public void empty_set_round_trip() {
+		assertRoundTrip(Collections.<String> emptySet());
+	}
+
+	@Test
+	public void null_set_is_encoded_as_empty_set() {
+		assertEquals(Collections.emptySet(), codec.decode(codec.encode(null)));
+	}
+
+	@Test
+	public void empty_strings_round_trip() {
+		assertRoundTrip(set("", "a", ""));
+	}
+
+	@Test
+	public void strings_containing_separators_round_trip() {
+		assertRoundTrip(set(":", "1:a", "AA_cset:3:foo", "::"));
+	}
+
+	@Test
+	public void legacy_xml_values_are_not_recognized() {
+		assertNull(codec.decode("<AA_set><AA_string>a</AA_string></AA_set>"));
+	}
+
+	@Test
+	public void malformed_values_are_not_recognized() {
+		assertNull(codec.decode("AA_cset:3"));
+		assertNull(codec.decode("AA_cset:x:foo"));
+		assertNull(codec.decode("AA_cset:-1:foo"));
+		assertNull(codec.decode("AA_cset:4:foo"));
+		assertNull(codec.decode("AA_cset:2147483647:foo"));
+	}
+
+	private void assertRoundTrip(Set<String> set) {
+		assertEquals(set, codec.decode(codec.encode(set)));
+	}
+
+	private Set<String> set(String... strings) {
+		return new LinkedHashSet<String>(Arrays.asList(strings));
+	}
+
+}
@@ -0,0 +1,199 @@
+/**
+ * Copyright (C) 2010-2014 eBusiness Information, Excilys Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.benchmark;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaCompiler.CompilationTask;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.androidannotations.AndroidAnnotationProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Runs javac with AndroidAnnotationProcessor on a {@link SyntheticProject}.
+ * Sources are only processed, not compiled, so that the score is dominated
+ * by the processor.
+ * <p>
+ * The processor profiling report is read after each invocation, and the
+ * average time and throughput of each phase are printed at the end of each
+ * trial.
+ * <p>
+ * Example: <code>java -jar target/benchmarks.jar -p activities=200</code>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ProcessorBenchmark {
+
+	private static final String PHASE = "phase";
+
+	@Param({ "10", "100" })
+	public int activities;
+
+	@Param({ "10" })
+	public int beans;
+
+	@Param({ "20" })
+	public int restMethods;
+
+	private File projectDirectory;
+	private File profileReport;
+	private SyntheticProject project;
+	private JavaCompiler compiler;
+	private StandardJavaFileManager fileManager;
+	private List<String> options;
+
+	private final Map<String, Long> phaseDurations = new LinkedHashMap<String, Long>();
+	private int invocations;
+
+	@Setup
+	public void setup() throws IOException {
+		projectDirectory = File.createTempFile("aa-benchmark", "");
+		if (!projectDirectory.delete() || !projectDirectory.mkdirs()) {
+			throw new IOException("Can't create " + projectDirectory);
+		}
+
+		project = new SyntheticProject(projectDirectory, activities, beans, restMethods);
+		project.write();
+
+		/*
+		 * The processor resolves its output directory from the parent folder
+		 * of the generated sources, the build folder is where the log and the
+		 * profiling report are written.
+		 */
+		File generatedSources = mkdir(new File(projectDirectory, "gen"));
+		File classes = mkdir(new File(projectDirectory, "classes"));
+		File buildDirectory = mkdir(new File(projectDirectory, "build"));
+		profileReport = new File(buildDirectory, "androidannotations-profile.csv");
+
+		options = Arrays.asList( //
+				"-proc:only", //
+				"-classpath", System.getProperty("java.class.path"), //
+				"-s", generatedSources.getAbsolutePath(), //
+				"-d", classes.getAbsolutePath(), //
+				"-AandroidManifestFile=" + project.getManifestFile().getAbsolutePath(), //
+				"-AlogLevel=WARN", //
+				"-Aprofile=csv");
+
+		compiler = ToolProvider.getSystemJavaCompiler();
+		if (compiler == null) {
+			throw new IllegalStateException("The benchmarks must be run with a JDK");
+		}
+		fileManager = compiler.getStandardFileManager(null, null, null);
+	}
+
+	@Benchmark
+	public void process() throws IOException {
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+		Iterable<? extends JavaFileObject> compilationUnits = fileManager.getJavaFileObjectsFromFiles(project.getSourceFiles());
+		CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null, compilationUnits);
+		task.setProcessors(Collections.singleton(new AndroidAnnotationProcessor()));
+
+		if (!task.call()) {
+			for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+				if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+					throw new IllegalStateException(diagnostic.toString());
+				}
+			}
+		}
+
+		readPhaseDurations();
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		fileManager.close();
+
+		System.out.println();
+		System.out.println("Phases, averaged over " + invocations + " invocations including warmup:");
+		for (Map.Entry<String, Long> phase : phaseDurations.entrySet()) {
+			double averageInMs = phase.getValue() / (double) invocations / 1000000;
+			System.out.println(String.format("  %-28s %10.3f ms/op %10.1f ops/s", phase.getKey(), averageInMs, 1000 / averageInMs));
+		}
+
+		delete(projectDirectory);
+	}
+
+	/**
+	 * Sums the phase durations of all rounds, as written by the processor
+	 * with the csv profile option.
+	 */
+	private void readPhaseDurations() throws IOException {
+		BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(profileReport), "UTF-8"));
+		try {
+			String line = reader.readLine();
+			while ((line = reader.readLine()) != null) {
+				String[] columns = line.split(",");
+				if (columns.length == 5 && PHASE.equals(columns[1])) {
+					Long duration = phaseDurations.get(columns[2]);
+					long previousDuration = duration != null ? duration : 0;
+					phaseDurations.put(columns[2], previousDuration + Long.parseLong(columns[4]));
+				}
+			}
+		} finally {
+			reader.close();
+		}
+		invocations++;
+	}
+
+	private File mkdir(File directory) throws IOException {
+		if (!directory.isDirectory() && !directory.mkdirs()) {
+			throw new IOException("Can't create " + directory);
+		}
+		return directory;
+	}
+
+	private void delete(File file) {
+		File[] children = file.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				delete(child);
+			}
+		}
+		file.delete();
+	}
+
+}
@@ -0,0 +1,203 @@
+/**
+ * Copyright (C) 2010-2014 eBusiness Information, Excilys Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.benchmark;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes a synthetic Android project to a directory: a manifest, an R class,
+ * a number of activities injecting beans and views, beans, and a REST client.
+ * Every activity uses the most common AndroidAnnotations features, so that
+ * the size of the project is the only variable of a benchmark.
+ */
+public class SyntheticProject {
+
+	public static final String PACKAGE_NAME = "org.androidannotations.benchmark.app";
+
+	private final File rootDirectory;
+	private final int activities;
+	private final int beans;
+	private final int restMethods;
+	private final List<File> sourceFiles = new ArrayList<File>();
+	private File manifestFile;
+
+	public SyntheticProject(File rootDirectory, int activities, int beans, int restMethods) {
+		this.rootDirectory = rootDirectory;
+		this.activities = activities;
+		this.beans = beans;
+		this.restMethods = restMethods;
+	}
+
+	public void write() throws IOException {
+		File packageDirectory = new File(rootDirectory, "src/" + PACKAGE_NAME.replace('.', '/'));
+		if (!packageDirectory.isDirectory() && !packageDirectory.mkdirs()) {
+			throw new IOException("Can't create " + packageDirectory);
+		}
+
+		manifestFile = new File(rootDirectory, "AndroidManifest.xml");
+		write(manifestFile, manifest());
+
+		writeSource(packageDirectory, "R", rClass());
+		for (int i = 0; i < beans; i++) {
+			writeSource(packageDirectory, "Bean" + i, bean(i));
+		}
+		if (restMethods > 0) {
+			writeSource(packageDirectory, "Client", restClient());
+		}
+		for (int i = 0; i < activities; i++) {
+			writeSource(packageDirectory, "Activity" + i, activity(i));
+		}
+	}
+
+	public List<File> getSourceFiles() {
+		return sourceFiles;
+	}
+
+	public File getManifestFile() {
+		return manifestFile;
+	}
+
+	private String manifest() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("<?xml version=\"1.0\" encoding=\"utf-8\"?>\n");
+		sb.append("<manifest xmlns:android=\"http://schemas.android.com/apk/res/android\" package=\"").append(PACKAGE_NAME).append("\">\n");
+		sb.append("\t<uses-permission android:name=\"android.permission.INTERNET\" />\n");
+		sb.append("\t<application>\n");
+		for (int i = 0; i < activities; i++) {
+			sb.append("\t\t<activity android:name=\".Activity").append(i).append("_\" />\n");
+		}
+		sb.append("\t</application>\n");
+		sb.append("</manifest>\n");
+		return sb.toString();
+	}
+
+	private String rClass() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("package ").append(PACKAGE_NAME).append(";\n\n");
+		sb.append("public final class R {\n");
+		sb.append("\tpublic static final class id {\n");
+		int value = 0x7f050000;
+		for (int i = 0; i < activities; i++) {
+			sb.append("\t\tpublic static final int title").append(i).append(" = 0x").append(Integer.toHexString(value++)).append(";\n");
+			sb.append("\t\tpublic static final int button").append(i).append(" = 0x").append(Integer.toHexString(value++)).append(";\n");
+		}
+		sb.append("\t}\n");
+		sb.append("\tpublic static final class layout {\n");
+		value = 0x7f030000;
+		for (int i = 0; i < activities; i++) {
+			sb.append("\t\tpublic static final int activity").append(i).append(" = 0x").append(Integer.toHexString(value++)).append(";\n");
+		}
+		sb.append("\t}\n");
+		sb.append("}\n");
+		return sb.toString();
+	}
+
+	private String bean(int index) {
+		StringBuilder sb = new StringBuilder();
+		sb.append("package ").append(PACKAGE_NAME).append(";\n\n");
+		sb.append("import org.androidannotations.annotations.*;\n\n");
+		sb.append("@EBean\n");
+		sb.append("public class Bean").append(index).append(" {\n\n");
+		sb.append("\t@RootContext\n");
+		sb.append("\tandroid.content.Context context;\n\n");
+		if (restMethods > 0) {
+			sb.append("\t@org.androidannotations.annotations.rest.RestService\n");
+			sb.append("\tClient client;\n\n");
+		}
+		sb.append("\t@Background\n");
+		sb.append("\tvoid load(String value) {\n");
+		sb.append("\t\tloaded(value);\n");
+		sb.append("\t}\n\n");
+		sb.append("\t@UiThread\n");
+		sb.append("\tvoid loaded(String value) {\n");
+		sb.append("\t}\n");
+		sb.append("}\n");
+		return sb.toString();
+	}
+
+	private String restClient() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("package ").append(PACKAGE_NAME).append(";\n\n");
+		sb.append("import org.androidannotations.annotations.rest.*;\n\n");
+		sb.append("@Rest(rootUrl = \"http://example.com\", converters = org.springframework.http.converter.StringHttpMessageConverter.class)\n");
+		sb.append("public interface Client {\n\n");
+		for (int i = 0; i < restMethods; i++) {
+			if (i % 2 == 0) {
+				sb.append("\t@Get(\"/items").append(i).append("/{id}?page={page}\")\n");
+				sb.append("\tString getItems").append(i).append("(int id, int page);\n\n");
+			} else {
+				sb.append("\t@Post(\"/items").append(i).append("/{id}\")\n");
+				sb.append("\tString postItem").append(i).append("(int id, String item);\n\n");
+			}
+		}
+		sb.append("}\n");
+		return sb.toString();
+	}
+
+	private String activity(int index) {
+		StringBuilder sb = new StringBuilder();
+		sb.append("package ").append(PACKAGE_NAME).append(";\n\n");
+		sb.append("import org.androidannotations.annotations.*;\n\n");
+		sb.append("@EActivity(R.layout.activity").append(index).append(")\n");
+		sb.append("public class Activity").append(index).append(" extends android.app.Activity {\n\n");
+		if (beans > 0) {
+			sb.append("\t@Bean\n");
+			sb.append("\tBean").append(index % beans).append(" bean;\n\n");
+		}
+		sb.append("\t@ViewById(R.id.title").append(index).append(")\n");
+		sb.append("\tandroid.widget.TextView title;\n\n");
+		sb.append("\t@Extra\n");
+		sb.append("\tString extra;\n\n");
+		sb.append("\t@InstanceState\n");
+		sb.append("\tint counter;\n\n");
+		sb.append("\t@AfterViews\n");
+		sb.append("\tvoid init() {\n");
+		sb.append("\t\ttitle.setText(extra);\n");
+		sb.append("\t}\n\n");
+		sb.append("\t@Click(R.id.button").append(index).append(")\n");
+		sb.append("\tvoid buttonClicked() {\n");
+		sb.append("\t\tcounter++;\n");
+		sb.append("\t\tdoInBackground();\n");
+		sb.append("\t}\n\n");
+		sb.append("\t@Background\n");
+		sb.append("\tvoid doInBackground() {\n");
+		sb.append("\t}\n");
+		sb.append("}\n");
+		return sb.toString();
+	}
+
+	private void writeSource(File packageDirectory, String className, String content) throws IOException {
+		File sourceFile = new File(packageDirectory, className + ".java");
+		write(sourceFile, content);
+		sourceFiles.add(sourceFile);
+	}
+
+	private void write(File file, String content) throws IOException {
+		Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+		try {
+			writer.write(content);
+		} finally {
+			writer.close();
+		}
+	}
+
+}
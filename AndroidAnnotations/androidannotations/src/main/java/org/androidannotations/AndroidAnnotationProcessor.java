@@ -15,12 +15,15 @@
  */
 package org.androidannotations;
 
+import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.net.URL;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.TreeMap;
 
 import javax.annotation.processing.AbstractProcessor;
 import javax.annotation.processing.ProcessingEnvironment;
@@ -38,6 +41,8 @@ import org.androidannotations.handler.AnnotationHandlers;
 import org.androidannotations.helper.AndroidManifest;
 import org.androidannotations.helper.AndroidManifestFinder;
 import org.androidannotations.helper.ErrorHelper;
+import org.androidannotations.helper.FileHelper;
+import org.androidannotations.helper.FingerprintHelper;
 import org.androidannotations.helper.Option;
 import org.androidannotations.helper.OptionsHelper;
 import org.androidannotations.logger.Level;
@@ -48,6 +53,8 @@ import org.androidannotations.model.AndroidSystemServices;
 import org.androidannotations.model.AnnotationElements;
 import org.androidannotations.model.AnnotationElementsHolder;
 import org.androidannotations.model.ModelExtractor;
+import org.androidannotations.process.AndroidAnnotationsEnvironment;
+import org.androidannotations.process.IncrementalProcessing;
 import org.androidannotations.process.ModelProcessor;
 import org.androidannotations.process.ModelValidator;
 import org.androidannotations.process.TimeStats;
@@ -55,6 +62,7 @@ import org.androidannotations.rclass.AndroidRClassFinder;
 import org.androidannotations.rclass.CoumpoundRClass;
 import org.androidannotations.rclass.IRClass;
 import org.androidannotations.rclass.ProjectRClassFinder;
+import org.androidannotations.rclass.RClass;
 
 public class AndroidAnnotationProcessor extends AbstractProcessor {
 
@@ -65,10 +73,19 @@ public class AndroidAnnotationProcessor extends AbstractProcessor {
 	private final TimeStats timeStats = new TimeStats();
 	private final ErrorHelper errorHelper = new ErrorHelper();
 	private AnnotationHandlers annotationHandlers;
+	private OptionsHelper optionsHelper;
+	private IncrementalProcessing incrementalProcessing;
+	private AndroidManifestFinder androidManifestFinder;
+	private ProjectRClassFinder projectRClassFinder;
+	private AndroidRClassFinder androidRClassFinder;
+	private CoumpoundRClass coumpoundRClass;
+	private RClass projectRClass;
 
 	@Override
 	public synchronized void init(ProcessingEnvironment processingEnv) {
-		super.init(processingEnv);
+		super.init(new AndroidAnnotationsEnvironment(processingEnv));
+		// handlers and helpers are given the environment holding the caches
+		processingEnv = this.processingEnv;
 
 		// Configure Logger
 		LoggerContext loggerContext = LoggerContext.getInstance();
@@ -84,6 +101,16 @@ public class AndroidAnnotationProcessor extends AbstractProcessor {
 		LOGGER.info("Initialize AndroidAnnotations {} with options {}", getAAProcessorVersion(), processingEnv.getOptions());
 
 		annotationHandlers = new AnnotationHandlers(processingEnv);
+		optionsHelper = new OptionsHelper(processingEnv);
+		timeStats.setProfiling(optionsHelper.getProfileFormat() != null);
+
+		androidManifestFinder = new AndroidManifestFinder(processingEnv);
+		projectRClassFinder = new ProjectRClassFinder(processingEnv);
+		androidRClassFinder = new AndroidRClassFinder(processingEnv);
+
+		if (optionsHelper.shouldProcessIncrementally()) {
+			incrementalProcessing = new IncrementalProcessing(processingEnv);
+		}
 	}
 
 	private void checkApiAndCoreVersions() throws VersionMismatchException {
@@ -117,10 +144,13 @@ public class AndroidAnnotationProcessor extends AbstractProcessor {
 			handleException(annotations, roundEnv, new ProcessingException(e, null));
 		}
 		timeStats.stop("Whole Processing");
+		timeStats.count("Root Elements", rootElements.size());
 		timeStats.logStats();
+		writeProfileReport();
 
 		LOGGER.info("Finish processing");
 
+		((AndroidAnnotationsEnvironment) processingEnv).getAnnotationParameterCache().clear();
 		LoggerContext.getInstance().close();
 		return true;
 	}
@@ -182,9 +212,19 @@ public class AndroidAnnotationProcessor extends AbstractProcessor {
 
 		AnnotationElements validatedModel = validateAnnotations(extractedModel);
 
-		ModelProcessor.ProcessResult processResult = processAnnotations(validatedModel);
+		AnnotationElements modelToProcess = validatedModel;
+		if (incrementalProcessing != null) {
+			modelToProcess = filterUpToDateElements(validatedModel, androidManifest);
+		}
 
-		generateSources(processResult);
+		ModelProcessor.ProcessResult processResult = processAnnotations(validatedModel, modelToProcess);
+
+		Map<String, String> sourceHashes = generateSources(processResult);
+
+		if (incrementalProcessing != null) {
+			incrementalProcessing.record(modelToProcess, getSupportedAnnotationTypes(), processResult.originatingElements, sourceHashes);
+			incrementalProcessing.save();
+		}
 	}
 
 	private boolean nothingToDo(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
@@ -201,19 +241,14 @@ public class AndroidAnnotationProcessor extends AbstractProcessor {
 
 	private Option<AndroidManifest> extractAndroidManifest() {
 		timeStats.start("Extract Manifest");
-		AndroidManifestFinder finder = new AndroidManifestFinder(processingEnv);
-		Option<AndroidManifest> manifest = finder.extractAndroidManifest();
+		Option<AndroidManifest> manifest = androidManifestFinder.extractAndroidManifest();
 		timeStats.stop("Extract Manifest");
 		return manifest;
 	}
 
 	private Option<IRClass> findRClasses(AndroidManifest androidManifest) throws IOException {
 		timeStats.start("Find R Classes");
-		ProjectRClassFinder rClassFinder = new ProjectRClassFinder(processingEnv);
-
-		Option<IRClass> rClass = rClassFinder.find(androidManifest);
-
-		AndroidRClassFinder androidRClassFinder = new AndroidRClassFinder(processingEnv);
+		Option<RClass> rClass = projectRClassFinder.find(androidManifest);
 
 		Option<IRClass> androidRClass = androidRClassFinder.find();
 
@@ -221,36 +256,92 @@ public class AndroidAnnotationProcessor extends AbstractProcessor {
 			return Option.absent();
 		}
 
-		IRClass coumpoundRClass = new CoumpoundRClass(rClass.get(), androidRClass.get());
+		projectRClass = rClass.get();
+
+		if (coumpoundRClass == null || !coumpoundRClass.isComposedOf(rClass.get(), androidRClass.get())) {
+			coumpoundRClass = new CoumpoundRClass(rClass.get(), androidRClass.get());
+		}
 
 		timeStats.stop("Find R Classes");
 
-		return Option.of(coumpoundRClass);
+		return Option.<IRClass> of(coumpoundRClass);
 	}
 
 	private AnnotationElements validateAnnotations(AnnotationElementsHolder extractedModel) throws ProcessingException, Exception {
 		timeStats.start("Validate Annotations");
-		ModelValidator modelValidator = new ModelValidator(annotationHandlers);
+		ModelValidator modelValidator = new ModelValidator(annotationHandlers, timeStats);
 		AnnotationElements validatedAnnotations = modelValidator.validate(extractedModel);
 		timeStats.stop("Validate Annotations");
 		return validatedAnnotations;
 	}
 
-	private ModelProcessor.ProcessResult processAnnotations(AnnotationElements validatedModel) throws Exception {
+	private AnnotationElements filterUpToDateElements(AnnotationElements validatedModel, AndroidManifest androidManifest) {
+		timeStats.start("Filter Up To Date Elements");
+		String environment = getAAProcessorVersion() + new TreeMap<String, String>(processingEnv.getOptions()) + androidManifest;
+		AnnotationElements modelToProcess = incrementalProcessing.filterUpToDateElements(validatedModel, getSupportedAnnotationTypes(), FingerprintHelper.hash(environment), projectRClass.getLoadedInnerClassHashes());
+		timeStats.stop("Filter Up To Date Elements");
+		return modelToProcess;
+	}
+
+	/**
+	 * Handlers look up other root elements in the whole validated model, even
+	 * when only some of them are processed.
+	 */
+	private ModelProcessor.ProcessResult processAnnotations(AnnotationElements validatedModel, AnnotationElements modelToProcess) throws Exception {
 		timeStats.start("Process Annotations");
 		annotationHandlers.setValidatedModel(validatedModel);
-		ModelProcessor modelProcessor = new ModelProcessor(processingEnv, annotationHandlers);
-		ModelProcessor.ProcessResult processResult = modelProcessor.process(validatedModel);
+		ModelProcessor modelProcessor = new ModelProcessor(processingEnv, annotationHandlers, timeStats);
+		ModelProcessor.ProcessResult processResult = modelProcessor.process(modelToProcess);
 		timeStats.stop("Process Annotations");
 		return processResult;
 	}
 
-	private void generateSources(ModelProcessor.ProcessResult processResult) throws IOException {
+	private Map<String, String> generateSources(ModelProcessor.ProcessResult processResult) throws IOException {
 		timeStats.start("Generate Sources");
-		LOGGER.info("Number of files generated by AndroidAnnotations: {}", processResult.codeModel.countArtifacts());
-		CodeModelGenerator modelGenerator = new CodeModelGenerator(processingEnv.getFiler(), getAAProcessorVersion());
+		int generatedFiles = processResult.codeModel.countArtifacts();
+		LOGGER.info("Number of files generated by AndroidAnnotations: {}", generatedFiles);
+		timeStats.count("Generated Files", generatedFiles);
+		CodeModelGenerator modelGenerator = new CodeModelGenerator(processingEnv.getFiler(), getAAProcessorVersion(), incrementalProcessing != null);
 		modelGenerator.generate(processResult);
 		timeStats.stop("Generate Sources");
+		return modelGenerator.getSourceHashes();
+	}
+
+	/**
+	 * The report is rewritten after each round, next to the log file, so that
+	 * it always holds the records of all the rounds.
+	 */
+	private void writeProfileReport() {
+		String profileFormat = optionsHelper.getProfileFormat();
+		if (profileFormat == null) {
+			return;
+		}
+
+		File reportDirectory = resolveProfileReportDirectory();
+		if (reportDirectory == null) {
+			LOGGER.warn("Can't resolve the profiling report directory");
+			return;
+		}
+
+		File reportFile = new File(reportDirectory, "androidannotations-profile." + profileFormat);
+		try {
+			timeStats.writeReport(reportFile);
+			LOGGER.info("Profiling report written to {}", reportFile.getAbsolutePath());
+		} catch (IOException e) {
+			LOGGER.warn("Can't write the profiling report to {}", e, reportFile.getAbsolutePath());
+		}
+	}
+
+	private File resolveProfileReportDirectory() {
+		File outputDirectory = FileHelper.resolveOutputDirectory(processingEnv);
+		String logFile = optionsHelper.getLogFile();
+		if (logFile != null) {
+			if (outputDirectory != null) {
+				logFile = logFile.replace("{outputFolder}", outputDirectory.getAbsolutePath());
+			}
+			return new File(logFile).getAbsoluteFile().getParentFile();
+		}
+		return outputDirectory;
 	}
 
 	private void handleException(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv, ProcessingException e) {
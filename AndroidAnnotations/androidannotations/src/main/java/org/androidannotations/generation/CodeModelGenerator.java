@@ -16,6 +16,8 @@
 package org.androidannotations.generation;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
 
 import javax.annotation.processing.Filer;
 
@@ -27,10 +29,17 @@ public class CodeModelGenerator {
 
 	private final Filer filer;
 	private final String aaVersion;
+	private final boolean computeSourceHashes;
+	private Map<String, String> sourceHashes = Collections.emptyMap();
 
 	public CodeModelGenerator(Filer filer, String aaVersion) {
+		this(filer, aaVersion, false);
+	}
+
+	public CodeModelGenerator(Filer filer, String aaVersion, boolean computeSourceHashes) {
 		this.filer = filer;
 		this.aaVersion = aaVersion;
+		this.computeSourceHashes = computeSourceHashes;
 	}
 
 	public void generate(ModelProcessor.ProcessResult processResult) throws IOException {
@@ -38,10 +47,16 @@ public class CodeModelGenerator {
 		ApiCodeGenerator apiCodeGenerator = new ApiCodeGenerator(filer);
 		apiCodeGenerator.writeApiClasses(processResult.apiClassesToGenerate, processResult.originatingElements);
 
-		SourceCodewriter sourceCodeWriter = new SourceCodewriter(filer, processResult.originatingElements);
+		SourceCodewriter sourceCodeWriter = new SourceCodewriter(filer, processResult.originatingElements, computeSourceHashes);
 
 		PrologCodeWriter prologCodeWriter = new PrologCodeWriter(sourceCodeWriter, "DO NOT EDIT THIS FILE, IT HAS BEEN GENERATED USING AndroidAnnotations " + aaVersion + ".\n");
 
 		processResult.codeModel.build(prologCodeWriter, new ResourceCodeWriter(filer));
+
+		sourceHashes = sourceCodeWriter.getSourceHashes();
+	}
+
+	public Map<String, String> getSourceHashes() {
+		return sourceHashes;
 	}
 }
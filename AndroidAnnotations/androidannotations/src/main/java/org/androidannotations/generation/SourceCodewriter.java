@@ -17,12 +17,17 @@ package org.androidannotations.generation;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.Map;
 
 import javax.annotation.processing.Filer;
 import javax.annotation.processing.FilerException;
 import javax.lang.model.element.Element;
 import javax.tools.JavaFileObject;
 
+import org.androidannotations.helper.FingerprintHelper;
 import org.androidannotations.logger.Logger;
 import org.androidannotations.logger.LoggerFactory;
 import org.androidannotations.process.OriginatingElements;
@@ -36,6 +41,7 @@ public class SourceCodewriter extends CodeWriter {
 	private static final Logger LOGGER = LoggerFactory.getLogger(SourceCodewriter.class);
 	private final Filer filer;
 	private OriginatingElements originatingElements;
+	private final Map<String, MessageDigest> sourceDigestsByClassName;
 
 	private static class VoidOutputStream extends OutputStream {
 		@Override
@@ -45,8 +51,13 @@ public class SourceCodewriter extends CodeWriter {
 	}
 
 	public SourceCodewriter(Filer filer, OriginatingElements originatingElements) {
+		this(filer, originatingElements, false);
+	}
+
+	public SourceCodewriter(Filer filer, OriginatingElements originatingElements, boolean computeSourceHashes) {
 		this.filer = filer;
 		this.originatingElements = originatingElements;
+		sourceDigestsByClassName = computeSourceHashes ? new HashMap<String, MessageDigest>() : null;
 	}
 
 	@Override
@@ -65,7 +76,15 @@ public class SourceCodewriter extends CodeWriter {
 
 			sourceFile = filer.createSourceFile(qualifiedClassName, classOriginatingElements);
 
-			return sourceFile.openOutputStream();
+			OutputStream outputStream = sourceFile.openOutputStream();
+
+			if (sourceDigestsByClassName != null) {
+				MessageDigest digest = FingerprintHelper.newDigest();
+				sourceDigestsByClassName.put(qualifiedClassName, digest);
+				outputStream = new DigestOutputStream(outputStream, digest);
+			}
+
+			return outputStream;
 		} catch (FilerException e) {
 			LOGGER.error("Could not generate source file for {}", qualifiedClassName, e.getMessage());
 			/*
@@ -89,6 +108,21 @@ public class SourceCodewriter extends CodeWriter {
 		return qualifiedClassName;
 	}
 
+	/**
+	 * Hashes of the written source files, by qualified class name. Only
+	 * available once the code model has been built, and empty unless source
+	 * hashes were requested.
+	 */
+	public Map<String, String> getSourceHashes() {
+		Map<String, String> sourceHashesByClassName = new HashMap<String, String>();
+		if (sourceDigestsByClassName != null) {
+			for (Map.Entry<String, MessageDigest> sourceDigest : sourceDigestsByClassName.entrySet()) {
+				sourceHashesByClassName.put(sourceDigest.getKey(), FingerprintHelper.toHex(sourceDigest.getValue().digest()));
+			}
+		}
+		return sourceHashesByClassName;
+	}
+
 	@Override
 	public void close() throws IOException {
 	}
@@ -23,14 +23,18 @@ import java.util.List;
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.VariableElement;
 import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Types;
 
 import org.androidannotations.helper.AndroidManifest;
 import org.androidannotations.helper.IdAnnotationHelper;
 import org.androidannotations.helper.IdValidatorHelper;
+import org.androidannotations.helper.OptionsHelper;
 import org.androidannotations.holder.EComponentWithViewSupportHolder;
 import org.androidannotations.holder.FoundViewHolder;
+import org.androidannotations.holder.SharedListenerHolder;
 import org.androidannotations.model.AndroidSystemServices;
 import org.androidannotations.model.AnnotationElements;
 import org.androidannotations.process.IsValid;
@@ -43,19 +47,24 @@ import com.sun.codemodel.JExpression;
 import com.sun.codemodel.JFieldRef;
 import com.sun.codemodel.JInvocation;
 import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JType;
+import com.sun.codemodel.JVar;
 
 public abstract class AbstractListenerHandler extends BaseAnnotationHandler<EComponentWithViewSupportHolder> {
 
 	private IdAnnotationHelper helper;
 	private EComponentWithViewSupportHolder holder;
 	private String methodName;
+	private final boolean shareListeners;
 
 	public AbstractListenerHandler(Class<?> targetClass, ProcessingEnvironment processingEnvironment) {
 		super(targetClass, processingEnvironment);
+		shareListeners = new OptionsHelper(processingEnvironment).shouldShareListeners();
 	}
 
 	public AbstractListenerHandler(String target, ProcessingEnvironment processingEnvironment) {
 		super(target, processingEnvironment);
+		shareListeners = new OptionsHelper(processingEnvironment).shouldShareListeners();
 	}
 
 	@Override
@@ -88,6 +97,11 @@ public abstract class AbstractListenerHandler extends BaseAnnotationHandler<ECom
 
 		List<JFieldRef> idsRefs = helper.extractAnnotationFieldRefs(processHolder, element, IRClass.Res.ID, true);
 
+		if (shouldShareListener()) {
+			processSharedListener(holder, (TypeElement) element.getEnclosingElement(), idsRefs, parameters, returnType);
+			return;
+		}
+
 		JDefinedClass listenerAnonymousClass = codeModel().anonymousClass(getListenerClass());
 		JMethod listenerMethod = createListenerMethod(listenerAnonymousClass);
 		listenerMethod.annotate(Override.class);
@@ -107,6 +121,77 @@ public abstract class AbstractListenerHandler extends BaseAnnotationHandler<ECom
 		}
 	}
 
+	/**
+	 * Adds a case per id to the switch of the listener shared by the whole
+	 * component, instead of creating a listener for this method. The ids are
+	 * used as case labels, so this is not done in library projects whose ids
+	 * are not constants. When a superclass and a subclass both bind an id, only
+	 * the subclass method is called, whatever the processing order.
+	 */
+	private void processSharedListener(EComponentWithViewSupportHolder holder, TypeElement declaringType, List<JFieldRef> idsRefs, List<? extends VariableElement> parameters, TypeMirror returnType) {
+		SharedListenerHolder sharedListenerHolder = holder.getSharedListenerHolder(getListenerClass());
+		if (sharedListenerHolder == null) {
+			JDefinedClass listenerAnonymousClass = codeModel().anonymousClass(getListenerClass());
+			JMethod listenerMethod = createListenerMethod(listenerAnonymousClass);
+			listenerMethod.annotate(Override.class);
+			sharedListenerHolder = holder.createSharedListenerHolder(getListenerClass(), listenerAnonymousClass, listenerMethod);
+		}
+
+		JMethod listenerMethod = sharedListenerHolder.getListenerMethod();
+
+		JExpression activityRef = holder.getGeneratedClass().staticRef("this");
+		JInvocation call = invoke(activityRef, methodName);
+
+		processParameters(holder, listenerMethod, call, parameters);
+
+		boolean listenerReturnsVoid = listenerMethod.type() == codeModel().VOID;
+		for (JFieldRef idRef : idsRefs) {
+			TypeElement previousDeclaringType = sharedListenerHolder.getCaseDeclaringType(idRef);
+			if (previousDeclaringType != null && !isSubclass(declaringType, previousDeclaringType)) {
+				continue;
+			}
+
+			JBlock caseBody = sharedListenerHolder.setCase(idRef, declaringType);
+			makeCall(caseBody, call, returnType);
+			if (listenerReturnsVoid) {
+				caseBody._break();
+			}
+
+			if (previousDeclaringType == null) {
+				FoundViewHolder foundViewHolder = holder.getFoundViewHolder(idRef, getViewClass());
+				foundViewHolder.getIfNotNullBlock().invoke(foundViewHolder.getView(), getSetterName()).arg(sharedListenerHolder.getListenerField());
+			}
+		}
+	}
+
+	private boolean isSubclass(TypeElement type, TypeElement superType) {
+		Types typeUtils = processingEnv.getTypeUtils();
+		return typeUtils.isSubtype(typeUtils.erasure(type.asType()), typeUtils.erasure(superType.asType()));
+	}
+
+	private boolean shouldShareListener() {
+		return shareListeners && isListenerShareable() && !androidManifest.isLibraryProject();
+	}
+
+	/**
+	 * Listeners receiving the view as their first parameter can be shared by
+	 * all the views of a component. Their {@link #processParameters} must
+	 * declare the parameters with {@link #listenerParam} as it is called once
+	 * per annotated method on the same listener method.
+	 */
+	protected boolean isListenerShareable() {
+		return false;
+	}
+
+	protected final JVar listenerParam(JMethod listenerMethod, JType type, String name) {
+		for (JVar param : listenerMethod.params()) {
+			if (param.name().equals(name)) {
+				return param;
+			}
+		}
+		return listenerMethod.param(type, name);
+	}
+
 	protected abstract void makeCall(JBlock listenerMethodBody, JInvocation call, TypeMirror returnType);
 
 	protected abstract void processParameters(EComponentWithViewSupportHolder holder, JMethod listenerMethod, JInvocation call, List<? extends VariableElement> userParameters);
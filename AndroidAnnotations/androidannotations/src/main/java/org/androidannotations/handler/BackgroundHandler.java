@@ -23,9 +23,12 @@ import javax.lang.model.element.Element;
 import javax.lang.model.element.ExecutableElement;
 
 import org.androidannotations.annotations.Background;
+import org.androidannotations.annotations.Coalesce;
 import org.androidannotations.api.BackgroundExecutor;
 import org.androidannotations.helper.APTCodeModelHelper;
 import org.androidannotations.holder.EComponentHolder;
+import org.androidannotations.model.AnnotationElements;
+import org.androidannotations.process.IsValid;
 
 import com.sun.codemodel.JBlock;
 import com.sun.codemodel.JCatchBlock;
@@ -46,6 +49,15 @@ public class BackgroundHandler extends AbstractRunnableHandler {
 		super(Background.class, processingEnvironment);
 	}
 
+	@Override
+	public void validate(Element element, AnnotationElements validatedElements, IsValid valid) {
+		super.validate(element, validatedElements, valid);
+
+		validatorHelper.hasValidMaxPending(element, valid);
+
+		validatorHelper.coalescedBackgroundHasId(element, valid);
+	}
+
 	@Override
 	public void process(Element element, EComponentHolder holder) throws Exception {
 		ExecutableElement executableElement = (ExecutableElement) element;
@@ -75,10 +87,17 @@ public class BackgroundHandler extends AbstractRunnableHandler {
 		String id = annotation.id();
 		int delay = annotation.delay();
 		String serial = annotation.serial();
+		int priority = annotation.priority();
+		int maxPending = annotation.maxPending();
 
 		JClass backgroundExecutorClass = refClass(BackgroundExecutor.class);
 		JInvocation newTask = _new(anonymousTaskClass).arg(lit(id)).arg(lit(delay)).arg(lit(serial));
-		JInvocation executeCall = backgroundExecutorClass.staticInvoke("execute").arg(newTask);
+		if (priority != 0 || maxPending != 0) {
+			JClass overflowClass = refClass(Background.Overflow.class);
+			newTask.arg(lit(priority)).arg(lit(maxPending)).arg(overflowClass.staticRef(annotation.overflow().name()));
+		}
+		String executeMethodName = annotation.coalesce() == Coalesce.LATEST ? "executeLatest" : "execute";
+		JInvocation executeCall = backgroundExecutorClass.staticInvoke(executeMethodName).arg(newTask);
 
 		delegatingMethod.body().add(executeCall);
 	}
@@ -62,7 +62,7 @@ public class ClickHandler extends AbstractListenerHandler {
 	protected void processParameters(EComponentWithViewSupportHolder holder, JMethod listenerMethod, JInvocation call, List<? extends VariableElement> parameters) {
 		boolean hasItemParameter = parameters.size() == 1;
 
-		JVar viewParam = listenerMethod.param(classes().VIEW, "view");
+		JVar viewParam = listenerParam(listenerMethod, classes().VIEW, "view");
 
 		if (hasItemParameter) {
 			call.arg(viewParam);
@@ -74,6 +74,11 @@ public class ClickHandler extends AbstractListenerHandler {
 		return listenerAnonymousClass.method(JMod.PUBLIC, codeModel().VOID, "onClick");
 	}
 
+	@Override
+	protected boolean isListenerShareable() {
+		return true;
+	}
+
 	@Override
 	protected String getSetterName() {
 		return "setOnClickListener";
@@ -18,7 +18,9 @@ package org.androidannotations.handler;
 import com.sun.codemodel.JExpr;
 import com.sun.codemodel.JFieldRef;
 import org.androidannotations.annotations.EViewGroup;
+import org.androidannotations.helper.APTCodeModelHelper;
 import org.androidannotations.helper.AndroidManifest;
+import org.androidannotations.helper.CanonicalNameConstants;
 import org.androidannotations.helper.IdAnnotationHelper;
 import org.androidannotations.helper.IdValidatorHelper;
 import org.androidannotations.holder.EViewGroupHolder;
@@ -31,9 +33,15 @@ import org.androidannotations.rclass.IRClass;
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Types;
+import java.util.ArrayList;
+import java.util.List;
 
 public class EViewGroupHandler extends BaseGeneratingAnnotationHandler<EViewGroupHolder> {
 
+	private final APTCodeModelHelper codeModelHelper = new APTCodeModelHelper();
 	private IdAnnotationHelper annotationHelper;
 
 	public EViewGroupHandler(ProcessingEnvironment processingEnvironment) {
@@ -66,5 +74,36 @@ public class EViewGroupHandler extends BaseGeneratingAnnotationHandler<EViewGrou
 		if (contentViewId != null) {
 			holder.getSetContentViewBlock().invoke("inflate").arg(holder.getContextRef()).arg(contentViewId).arg(JExpr._this());
 		}
+
+		TypeMirror bindableItemType = findBindableItemType(element.asType());
+		if (bindableItemType != null) {
+			holder.setRecyclableView(codeModelHelper.typeMirrorToJClass(bindableItemType, holder));
+		}
+	}
+
+	/**
+	 * @return the type argument of the BindableView the given type implements,
+	 *         or <b>null</b> if it does not implement BindableView
+	 */
+	private TypeMirror findBindableItemType(TypeMirror type) {
+		TypeElement bindableViewElement = processingEnv.getElementUtils().getTypeElement(CanonicalNameConstants.BINDABLE_VIEW);
+		if (bindableViewElement == null) {
+			return null;
+		}
+
+		Types typeUtils = processingEnv.getTypeUtils();
+		TypeMirror bindableView = typeUtils.erasure(bindableViewElement.asType());
+
+		List<TypeMirror> superTypes = new ArrayList<TypeMirror>();
+		superTypes.add(type);
+		while (!superTypes.isEmpty()) {
+			TypeMirror superType = superTypes.remove(0);
+			if (typeUtils.isSameType(typeUtils.erasure(superType), bindableView)) {
+				List<? extends TypeMirror> typeArguments = ((DeclaredType) superType).getTypeArguments();
+				return typeArguments.isEmpty() ? processingEnv.getElementUtils().getTypeElement(CanonicalNameConstants.OBJECT).asType() : typeArguments.get(0);
+			}
+			superTypes.addAll(typeUtils.directSupertypes(superType));
+		}
+		return null;
 	}
 }
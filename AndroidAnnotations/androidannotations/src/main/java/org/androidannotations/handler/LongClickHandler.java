@@ -69,7 +69,7 @@ public class LongClickHandler extends AbstractListenerHandler {
 	@Override
 	protected void processParameters(EComponentWithViewSupportHolder holder, JMethod listenerMethod, JInvocation call, List<? extends VariableElement> parameters) {
 		boolean hasViewParameter = parameters.size() == 1;
-		JVar viewParam = listenerMethod.param(classes().VIEW, "view");
+		JVar viewParam = listenerParam(listenerMethod, classes().VIEW, "view");
 		if (hasViewParameter) {
 			call.arg(viewParam);
 		}
@@ -80,6 +80,11 @@ public class LongClickHandler extends AbstractListenerHandler {
 		return listenerAnonymousClass.method(JMod.PUBLIC, codeModel().BOOLEAN, "onLongClick");
 	}
 
+	@Override
+	protected boolean isListenerShareable() {
+		return true;
+	}
+
 	@Override
 	protected String getSetterName() {
 		return "setOnLongClickListener";
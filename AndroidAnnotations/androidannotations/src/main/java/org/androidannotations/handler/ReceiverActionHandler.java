@@ -82,7 +82,7 @@ public class ReceiverActionHandler extends BaseAnnotationHandler<EReceiverHolder
 		}
 
 		JFieldVar actionKeyField = createStaticActionField(holder, extraKey, methodName);
-		addActionInOnReceive(holder, executableElement, methodName, actionKeyField);
+		addActionInOnReceive(holder, executableElement, methodName, extraKey, actionKeyField);
 	}
 
 	private JFieldVar createStaticActionField(EReceiverHolder holder, String extraKey, String methodName) {
@@ -90,10 +90,10 @@ public class ReceiverActionHandler extends BaseAnnotationHandler<EReceiverHolder
 		return holder.getGeneratedClass().field(PUBLIC | STATIC | FINAL, classes().STRING, staticFieldName, lit(extraKey));
 	}
 
-	private void addActionInOnReceive(EReceiverHolder holder, ExecutableElement executableElement, String methodName, JFieldVar actionKeyField) {
+	private void addActionInOnReceive(EReceiverHolder holder, ExecutableElement executableElement, String methodName, String action, JFieldVar actionKeyField) {
 		// If action match, call the method
 		JInvocation actionCondition = actionKeyField.invoke("equals").arg(holder.getOnReceiveIntentAction());
-		JBlock callActionBlock = holder.getOnReceiveBody()._if(actionCondition)._then();
+		JBlock callActionBlock = holder.getOnReceiveActionSwitch().getCaseBody(action)._if(actionCondition)._then();
 		JExpression receiverRef = holder.getGeneratedClass().staticRef("this");
 		JInvocation callActionInvocation = receiverRef.invoke(methodName);
 
@@ -68,7 +68,7 @@ public class ServiceActionHandler extends BaseAnnotationHandler<EIntentServiceHo
         }
 
         JFieldVar actionKeyField = createStaticActionField(holder, extraKey, methodName);
-        addActionInOnHandleIntent(holder, executableElement, methodName, actionKeyField);
+        addActionInOnHandleIntent(holder, executableElement, methodName, extraKey, actionKeyField);
         addActionToIntentBuilder(holder, executableElement, methodName, actionKeyField);
     }
 
@@ -77,12 +77,12 @@ public class ServiceActionHandler extends BaseAnnotationHandler<EIntentServiceHo
         return holder.getGeneratedClass().field(PUBLIC | STATIC | FINAL, classes().STRING, staticFieldName, lit(extraKey));
     }
 
-    private void addActionInOnHandleIntent(EIntentServiceHolder holder, ExecutableElement executableElement, String methodName, JFieldVar actionKeyField) {
+    private void addActionInOnHandleIntent(EIntentServiceHolder holder, ExecutableElement executableElement, String methodName, String action, JFieldVar actionKeyField) {
 	    JMethod onHandleIntentMethod = holder.getOnHandleIntentMethod();
 
         // If action match, call the method
         JInvocation actionCondition = actionKeyField.invoke("equals").arg(holder.getOnHandleIntentIntentAction());
-        JBlock callActionBlock = holder.getOnHandleIntentBody()._if(actionCondition)._then();
+        JBlock callActionBlock = holder.getOnHandleIntentActionSwitch().getCaseBody(action)._if(actionCondition)._then();
         JInvocation callActionInvocation = JExpr._super().invoke(methodName);
 
         // For each method params, we get back value from extras and put it
@@ -69,11 +69,15 @@ import com.sun.codemodel.JClass;
 import com.sun.codemodel.JExpr;
 import com.sun.codemodel.JExpression;
 import com.sun.codemodel.JFieldRef;
+import com.sun.codemodel.JInvocation;
 import com.sun.codemodel.JMethod;
 import com.sun.codemodel.JVar;
 
 public class SharedPrefHandler extends BaseGeneratingAnnotationHandler<SharedPrefHolder> {
 
+	private static final int MIN_SDK_WITH_EDITOR_APPLY = 9;
+	private static final int MIN_SDK_WITH_STRING_SET = 11;
+
 	private IdAnnotationHelper annotationHelper;
 	private APTCodeModelHelper aptCodeModelHelper;
 
@@ -161,6 +165,17 @@ public class SharedPrefHandler extends BaseGeneratingAnnotationHandler<SharedPre
 	public void process(Element element, SharedPrefHolder holder) {
 		generateConstructor(element, holder);
 		generateFieldMethodAndEditorFieldMethod(element, holder);
+		generateDirectCompatMethods(holder);
+	}
+
+	private void generateDirectCompatMethods(SharedPrefHolder holder) {
+		int minSdkVersion = androidManifest.getMinSdkVersion();
+		if (minSdkVersion >= MIN_SDK_WITH_EDITOR_APPLY) {
+			holder.createDirectApplyMethods();
+		}
+		if (minSdkVersion >= MIN_SDK_WITH_STRING_SET) {
+			holder.createDirectStringSetMethods();
+		}
 	}
 
 	private void generateConstructor(Element element, SharedPrefHolder holder) {
@@ -172,39 +187,41 @@ public class SharedPrefHandler extends BaseGeneratingAnnotationHandler<SharedPre
 		JBlock constructorSuperBlock = holder.getConstructorSuperBlock();
 		JVar contextParam = holder.getConstructorContextParam();
 
+		JExpression sharedPreferences = null;
 		switch (scope) {
 		case ACTIVITY_DEFAULT: {
 			JMethod getLocalClassName = getLocalClassName(holder);
-			constructorSuperBlock.invoke("super") //
-					.arg(contextParam.invoke("getSharedPreferences") //
-							.arg(invoke(getLocalClassName).arg(contextParam)) //
-							.arg(lit(mode)));
+			sharedPreferences = contextParam.invoke("getSharedPreferences") //
+					.arg(invoke(getLocalClassName).arg(contextParam)) //
+					.arg(lit(mode));
 			break;
 		}
 		case ACTIVITY: {
 			JMethod getLocalClassName = getLocalClassName(holder);
-			constructorSuperBlock.invoke("super") //
-					.arg(contextParam.invoke("getSharedPreferences") //
-							.arg(invoke(getLocalClassName).arg(contextParam) //
-									.plus(lit("_" + interfaceSimpleName))) //
-							.arg(lit(mode)));
+			sharedPreferences = contextParam.invoke("getSharedPreferences") //
+					.arg(invoke(getLocalClassName).arg(contextParam) //
+							.plus(lit("_" + interfaceSimpleName))) //
+					.arg(lit(mode));
 			break;
 		}
 		case UNIQUE: {
-			constructorSuperBlock.invoke("super") //
-					.arg(contextParam.invoke("getSharedPreferences") //
-							.arg(lit(interfaceSimpleName)) //
-							.arg(lit(mode)));
+			sharedPreferences = contextParam.invoke("getSharedPreferences") //
+					.arg(lit(interfaceSimpleName)) //
+					.arg(lit(mode));
 			break;
 		}
 		case APPLICATION_DEFAULT: {
 			JClass preferenceManagerClass = refClass("android.preference.PreferenceManager");
-			constructorSuperBlock.invoke("super") //
-					.arg(preferenceManagerClass.staticInvoke("getDefaultSharedPreferences") //
-							.arg(contextParam));
+			sharedPreferences = preferenceManagerClass.staticInvoke("getDefaultSharedPreferences") //
+					.arg(contextParam);
 			break;
 		}
 		}
+
+		JInvocation superCall = constructorSuperBlock.invoke("super").arg(sharedPreferences);
+		if (sharedPrefAnnotation.cache()) {
+			superCall.arg(lit(true));
+		}
 	}
 
 	private JMethod getLocalClassName(SharedPrefHolder holder) {
@@ -65,8 +65,8 @@ public class TouchHandler extends AbstractListenerHandler {
 
 	@Override
 	protected void processParameters(EComponentWithViewSupportHolder holder, JMethod listenerMethod, JInvocation call, List<? extends VariableElement> parameters) {
-		JVar viewParam = listenerMethod.param(classes().VIEW, "view");
-		JVar eventParam = listenerMethod.param(classes().MOTION_EVENT, "event");
+		JVar viewParam = listenerParam(listenerMethod, classes().VIEW, "view");
+		JVar eventParam = listenerParam(listenerMethod, classes().MOTION_EVENT, "event");
 
 		for (VariableElement parameter : parameters) {
 			String parameterType = parameter.asType().toString();
@@ -83,6 +83,11 @@ public class TouchHandler extends AbstractListenerHandler {
 		return listenerAnonymousClass.method(JMod.PUBLIC, codeModel().BOOLEAN, "onTouch");
 	}
 
+	@Override
+	protected boolean isListenerShareable() {
+		return true;
+	}
+
 	@Override
 	protected String getSetterName() {
 		return "setOnTouchListener";
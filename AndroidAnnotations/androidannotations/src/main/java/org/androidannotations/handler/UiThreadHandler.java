@@ -16,22 +16,29 @@
 package org.androidannotations.handler;
 
 import com.sun.codemodel.*;
+import org.androidannotations.annotations.Coalesce;
 import org.androidannotations.annotations.UiThread;
+import org.androidannotations.api.RunnablePool;
+import org.androidannotations.api.UiThreadHelper;
+import org.androidannotations.helper.CaseHelper;
+import org.androidannotations.helper.ModelConstants;
 import org.androidannotations.helper.APTCodeModelHelper;
 import org.androidannotations.holder.EComponentHolder;
 
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.VariableElement;
+import java.util.List;
 
 import static com.sun.codemodel.JExpr._new;
+import static com.sun.codemodel.JExpr._null;
+import static com.sun.codemodel.JExpr._this;
 import static com.sun.codemodel.JExpr.lit;
 
 public class UiThreadHandler extends AbstractRunnableHandler {
 
-	private static final String METHOD_CUR_THREAD = "currentThread";
-	private static final String METHOD_MAIN_LOOPER = "getMainLooper";
-	private static final String METHOD_GET_THREAD = "getThread";
+	private static final String METHOD_IS_UI_THREAD = "isUiThread";
 
 	private final APTCodeModelHelper codeModelHelper = new APTCodeModelHelper();
 
@@ -44,24 +51,123 @@ public class UiThreadHandler extends AbstractRunnableHandler {
 		ExecutableElement executableElement = (ExecutableElement) element;
 		JMethod delegatingMethod = codeModelHelper.overrideAnnotatedMethod(executableElement, holder);
 		JBlock previousBody = codeModelHelper.removeBody(delegatingMethod);
-		JDefinedClass anonymousRunnableClass = codeModelHelper.createDelegatingAnonymousRunnableClass(holder, previousBody);
 
 		UiThread annotation = element.getAnnotation(UiThread.class);
 		long delay = annotation.delay();
 		UiThread.Propagation propagation = annotation.propagation();
 
-		if (delay == 0) {
-			if (propagation == UiThread.Propagation.REUSE) {
-				// Put in the check for the UI thread.
-				addUIThreadCheck(delegatingMethod, previousBody, holder);
-			}
+		boolean coalesce = annotation.coalesce() == Coalesce.LATEST;
+		/*
+		 * The handler belongs to the instance, so the method signature is
+		 * enough to identify the waiting calls of this method
+		 */
+		JExpression token = lit(methodSignature(executableElement));
+		if (coalesce) {
+			delegatingMethod.body().invoke(holder.getHandler(), "removeCallbacksAndMessages").arg(token);
+		}
+
+		if (delay == 0 && propagation == UiThread.Propagation.REUSE) {
+			// Put in the check for the UI thread.
+			addUIThreadCheck(delegatingMethod, previousBody, holder);
+		}
+
+		JExpression runnable = delegatingRunnable(executableElement, delegatingMethod, previousBody, holder);
 
-			delegatingMethod.body().invoke(holder.getHandler(), "post").arg(_new(anonymousRunnableClass));
+		if (coalesce) {
+			JExpression uptime = holder.classes().SYSTEM_CLOCK.staticInvoke("uptimeMillis");
+			if (delay != 0) {
+				uptime = uptime.plus(lit(delay));
+			}
+			delegatingMethod.body().invoke(holder.getHandler(), "postAtTime").arg(runnable).arg(token).arg(uptime);
+		} else if (delay == 0) {
+			delegatingMethod.body().invoke(holder.getHandler(), "post").arg(runnable);
 		} else {
-			delegatingMethod.body().invoke(holder.getHandler(), "postDelayed").arg(_new(anonymousRunnableClass)).arg(lit(delay));
+			delegatingMethod.body().invoke(holder.getHandler(), "postDelayed").arg(runnable).arg(lit(delay));
+		}
+	}
+
+	/**
+	 * Avoids allocating a runnable for each call: a method without parameter
+	 * always posts the same runnable, whereas the parameters of the other
+	 * methods are stored in runnables taken from a pool, which they go back to
+	 * when they run. Generic methods keep an anonymous runnable.
+	 */
+	private JExpression delegatingRunnable(ExecutableElement executableElement, JMethod delegatingMethod, JBlock previousBody, EComponentHolder holder) {
+		JDefinedClass generatedClass = holder.getGeneratedClass();
+		String baseName = delegatingMethod.name() + "Runnable";
+
+		if (delegatingMethod.typeParams().length > 0) {
+			return _new(codeModelHelper.createDelegatingAnonymousRunnableClass(holder, previousBody));
+		}
+
+		List<JVar> params = delegatingMethod.params();
+		if (params.isEmpty()) {
+			JDefinedClass anonymousRunnableClass = codeModelHelper.createDelegatingAnonymousRunnableClass(holder, previousBody);
+			return generatedClass.field(JMod.PRIVATE | JMod.FINAL, Runnable.class, uniqueFieldName(generatedClass, baseName), _new(anonymousRunnableClass));
+		}
+
+		JDefinedClass runnableClass = pooledRunnableClass(generatedClass, CaseHelper.upperCaseFirst(baseName));
+		JClass poolClass = refClass(RunnablePool.class).narrow(runnableClass);
+		JFieldVar pool = generatedClass.field(JMod.PRIVATE | JMod.FINAL, poolClass, uniqueFieldName(generatedClass, baseName + "Pool"), _new(poolClass));
+
+		JMethod runMethod = runnableClass.method(JMod.PUBLIC, holder.codeModel().VOID, "run");
+		runMethod.annotate(Override.class);
+		JBlock runBody = runMethod.body();
+
+		JBlock body = delegatingMethod.body();
+		JVar runnable = body.decl(runnableClass, "runnable" + ModelConstants.GENERATION_SUFFIX, pool.invoke("acquire"));
+		body._if(runnable.eq(_null()))._then().assign(runnable, _new(runnableClass));
+
+		for (int i = 0; i < params.size(); i++) {
+			JVar param = params.get(i);
+			JFieldVar slot = runnableClass.field(JMod.PRIVATE, param.type(), param.name());
+			body.assign(runnable.ref(slot), param);
+
+			runBody.decl(JMod.FINAL, param.type(), param.name(), _this().ref(slot));
+			if (!executableElement.getParameters().get(i).asType().getKind().isPrimitive()) {
+				// do not keep the argument alive while the runnable is pooled
+				runBody.assign(_this().ref(slot), _null());
+			}
+		}
+		runBody.invoke(pool, "release").arg(_this());
+		runBody.add(previousBody);
+
+		return runnable;
+	}
+
+	private JDefinedClass pooledRunnableClass(JDefinedClass generatedClass, String baseName) {
+		String name = baseName + ModelConstants.GENERATION_SUFFIX;
+		for (int i = 2;; i++) {
+			try {
+				JDefinedClass runnableClass = generatedClass._class(JMod.PRIVATE | JMod.FINAL, name);
+				runnableClass._implements(Runnable.class);
+				return runnableClass;
+			} catch (JClassAlreadyExistsException e) {
+				name = baseName + i + ModelConstants.GENERATION_SUFFIX;
+			}
 		}
 	}
 
+	private String uniqueFieldName(JDefinedClass generatedClass, String baseName) {
+		String name = baseName + ModelConstants.GENERATION_SUFFIX;
+		for (int i = 2; generatedClass.fields().containsKey(name); i++) {
+			name = baseName + i + ModelConstants.GENERATION_SUFFIX;
+		}
+		return name;
+	}
+
+	private String methodSignature(ExecutableElement executableElement) {
+		StringBuilder signature = new StringBuilder(executableElement.getSimpleName()).append('(');
+		List<? extends VariableElement> parameters = executableElement.getParameters();
+		for (int i = 0; i < parameters.size(); i++) {
+			if (i > 0) {
+				signature.append(',');
+			}
+			signature.append(parameters.get(i).asType());
+		}
+		return signature.append(')').toString();
+	}
+
 	/**
 	 * Add the pre-check to see if we are already in the UI thread.
 	 *
@@ -70,16 +176,11 @@ public class UiThreadHandler extends AbstractRunnableHandler {
 	 * @throws JClassAlreadyExistsException
 	 */
 	private void addUIThreadCheck(JMethod delegatingMethod, JBlock previousBody, EComponentHolder holder) throws JClassAlreadyExistsException {
-		// Get the Thread and Looper class.
-		JClass tClass = holder.classes().THREAD;
-		JClass lClass = holder.classes().LOOPER;
-
-		// invoke the methods.
-		JExpression lhs = tClass.staticInvoke(METHOD_CUR_THREAD);
-		JExpression rhs = lClass.staticInvoke(METHOD_MAIN_LOOPER).invoke(METHOD_GET_THREAD);
+		// the main thread is looked up once and for all by the helper
+		JExpression isUiThread = refClass(UiThreadHelper.class).staticInvoke(METHOD_IS_UI_THREAD);
 
 		// create the conditional and the block.
-		JConditional con = delegatingMethod.body()._if(JOp.eq(lhs, rhs));
+		JConditional con = delegatingMethod.body()._if(isUiThread);
 		JBlock thenBlock = con._then().add(previousBody);
 		thenBlock._return();
 	}
@@ -21,6 +21,7 @@ import org.androidannotations.annotations.ViewById;
 import org.androidannotations.helper.AndroidManifest;
 import org.androidannotations.helper.IdAnnotationHelper;
 import org.androidannotations.helper.IdValidatorHelper;
+import org.androidannotations.helper.OptionsHelper;
 import org.androidannotations.holder.EComponentWithViewSupportHolder;
 import org.androidannotations.model.AndroidSystemServices;
 import org.androidannotations.model.AnnotationElements;
@@ -29,16 +30,23 @@ import org.androidannotations.rclass.IRClass;
 
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.lang.model.element.Element;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+
+import java.util.List;
 
 import static com.sun.codemodel.JExpr.ref;
 
 public class ViewByIdHandler extends BaseAnnotationHandler<EComponentWithViewSupportHolder> {
 
 	private IdAnnotationHelper annotationHelper;
+	private final int viewIndexThreshold;
 
 	public ViewByIdHandler(ProcessingEnvironment processingEnvironment) {
 		super(ViewById.class, processingEnvironment);
+		viewIndexThreshold = new OptionsHelper(processingEnvironment).getViewIndexThreshold();
 	}
 
 	@Override
@@ -53,7 +61,7 @@ public class ViewByIdHandler extends BaseAnnotationHandler<EComponentWithViewSup
 
 		validatorHelper.isDeclaredType(element, valid);
 
-		validatorHelper.extendsView(element, valid);
+		validatorHelper.extendsViewOrIsLazyView(element, valid);
 
 		validatorHelper.resIdsExist(element, IRClass.Res.ID, IdValidatorHelper.FallbackStrategy.USE_ELEMENT_NAME, valid);
 
@@ -68,9 +76,39 @@ public class ViewByIdHandler extends BaseAnnotationHandler<EComponentWithViewSup
 		String typeQualifiedName = uiFieldTypeMirror.toString();
 
 		JFieldRef idRef = annotationHelper.extractOneAnnotationFieldRef(processHolder, element, IRClass.Res.ID, true);
-		JClass viewClass = refClass(typeQualifiedName);
 		JFieldRef fieldRef = ref(fieldName);
 
-		holder.assignFindViewById(idRef, viewClass, fieldRef);
+		if (validatorHelper.isLazyView(uiFieldTypeMirror)) {
+			TypeMirror viewTypeMirror = ((DeclaredType) uiFieldTypeMirror).getTypeArguments().get(0);
+			JClass lazyViewClass = classes().LAZY_VIEW.narrow(refClass(viewTypeMirror.toString()));
+			holder.assignLazyView(idRef, lazyViewClass, fieldRef);
+		} else {
+			JClass viewClass = refClass(typeQualifiedName);
+			if (shouldIndexViews(holder)) {
+				holder.assignIndexedView(idRef, viewClass, fieldRef);
+			} else {
+				holder.assignFindViewById(idRef, viewClass, fieldRef);
+			}
+		}
+	}
+
+	private boolean shouldIndexViews(EComponentWithViewSupportHolder holder) {
+		Boolean indexViews = holder.getIndexViews();
+		if (indexViews == null) {
+			indexViews = viewIndexThreshold != 0 && countViewFields(holder) >= viewIndexThreshold;
+			holder.setIndexViews(indexViews);
+		}
+		return indexViews;
+	}
+
+	private int countViewFields(EComponentWithViewSupportHolder holder) {
+		int viewFields = 0;
+		List<? extends Element> members = processingEnv.getElementUtils().getAllMembers(holder.getAnnotatedElement());
+		for (VariableElement field : ElementFilter.fieldsIn(members)) {
+			if (field.getAnnotation(ViewById.class) != null && !validatorHelper.isLazyView(field.asType())) {
+				viewFields++;
+			}
+		}
+		return viewFields;
 	}
 }
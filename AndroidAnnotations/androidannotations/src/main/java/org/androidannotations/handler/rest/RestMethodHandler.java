@@ -129,11 +129,10 @@ public abstract class RestMethodHandler extends BaseAnnotationHandler<RestHolder
 
 	protected JExpression getUrl(Element element, RestHolder restHolder) {
 		String urlSuffix = getUrlSuffix(element);
-		JExpression url = JExpr.lit(getUrlSuffix(element));
-		if (!(urlSuffix.startsWith("http://") || urlSuffix.startsWith("https://"))) {
-			url = JExpr.invoke(restHolder.getRootUrlField(), "concat").arg(url);
+		if (urlSuffix.startsWith("http://") || urlSuffix.startsWith("https://")) {
+			return JExpr.lit(urlSuffix);
 		}
-		return url;
+		return restHolder.getUrlField(urlSuffix);
 	}
 
 	protected abstract String getUrlSuffix(Element element);
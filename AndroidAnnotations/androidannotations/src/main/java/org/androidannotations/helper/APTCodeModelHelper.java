@@ -60,6 +60,7 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 import static com.sun.codemodel.JExpr._new;
 import static com.sun.codemodel.JExpr.lit;
@@ -72,6 +73,31 @@ public class APTCodeModelHelper {
 	}
 
 	private JClass typeMirrorToJClass(TypeMirror type, GeneratedClassHolder holder, Map<String, TypeMirror> substitute) {
+		String typeKey = typeKey(type, substitute);
+		JClass typeClass = holder.getTypeMirrorClass(typeKey);
+		if (typeClass == null) {
+			typeClass = convertTypeMirrorToJClass(type, holder, substitute);
+			holder.putTypeMirrorClass(typeKey, typeClass);
+		}
+		return typeClass;
+	}
+
+	/**
+	 * The same type converts to the same {@link JClass} as long as the type
+	 * variables it may reference are substituted the same way.
+	 */
+	private String typeKey(TypeMirror type, Map<String, TypeMirror> substitute) {
+		if (substitute.isEmpty()) {
+			return type.toString();
+		}
+		StringBuilder typeKey = new StringBuilder(type.toString());
+		for (Map.Entry<String, TypeMirror> entry : new TreeMap<String, TypeMirror>(substitute).entrySet()) {
+			typeKey.append('|').append(entry.getKey()).append('=').append(entry.getValue());
+		}
+		return typeKey.toString();
+	}
+
+	private JClass convertTypeMirrorToJClass(TypeMirror type, GeneratedClassHolder holder, Map<String, TypeMirror> substitute) {
 		if (type instanceof DeclaredType) {
 			return typeMirrorToJClass((DeclaredType) type, holder, substitute);
 		} else if (type instanceof WildcardType) {
@@ -19,31 +19,41 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.TreeMap;
 
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.lang.model.util.Elements;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLStreamException;
 
+import org.androidannotations.helper.AndroidManifestParser.Declarations;
 import org.androidannotations.helper.FileHelper.FileHolder;
 import org.androidannotations.logger.Logger;
 import org.androidannotations.logger.LoggerFactory;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.NamedNodeMap;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
 public class AndroidManifestFinder {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(AndroidManifestFinder.class);
 	private static final int MAX_PARENTS_FROM_SOURCE_FOLDER = 10;
+	private static final int MAX_CACHED_MANIFESTS = 16;
+
+	private static final Map<String, Declarations> DECLARATIONS_CACHE = new LinkedHashMap<String, Declarations>(MAX_CACHED_MANIFESTS, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Declarations> eldest) {
+			return size() > MAX_CACHED_MANIFESTS;
+		}
+	};
 
 	private final ProcessingEnvironment processingEnv;
 	private final OptionsHelper optionsHelper;
 
+	private File androidManifestFile;
+
 	public AndroidManifestFinder(ProcessingEnvironment processingEnv) {
 		this.processingEnv = processingEnv;
 		optionsHelper = new OptionsHelper(processingEnv);
@@ -80,7 +90,22 @@ public class AndroidManifestFinder {
 		return parse(androidManifestFile, libraryProject);
 	}
 
+	/**
+	 * The manifest location doesn't change during a compilation, so it is only
+	 * searched in the first round.
+	 */
 	private Option<File> findManifestFile() {
+		if (androidManifestFile == null) {
+			Option<File> androidManifestFileOption = searchManifestFile();
+			if (androidManifestFileOption.isAbsent()) {
+				return androidManifestFileOption;
+			}
+			androidManifestFile = androidManifestFileOption.get();
+		}
+		return Option.of(androidManifestFile);
+	}
+
+	private Option<File> searchManifestFile() {
 		String androidManifestFile = optionsHelper.getAndroidManifestFile();
 		if (androidManifestFile != null) {
 			return findManifestInSpecifiedPath(androidManifestFile);
@@ -141,71 +166,48 @@ public class AndroidManifestFinder {
 	}
 
 	private Option<AndroidManifest> parse(File androidManifestFile, boolean libraryProject) {
-		DocumentBuilderFactory docBuilderFactory = DocumentBuilderFactory.newInstance();
-
-		Document doc;
+		Declarations declarations;
 		try {
-			DocumentBuilder docBuilder = docBuilderFactory.newDocumentBuilder();
-			doc = docBuilder.parse(androidManifestFile);
+			declarations = parseDeclarations(androidManifestFile);
 		} catch (Exception e) {
 			LOGGER.error("Could not parse the AndroidManifest.xml file at path {}", androidManifestFile, e);
 			return Option.absent();
 		}
 
-		Element documentElement = doc.getDocumentElement();
-		documentElement.normalize();
-
-		String applicationPackage = documentElement.getAttribute("package");
+		String applicationPackage = declarations.applicationPackage;
 
-		int minSdkVersion = -1;
-		int maxSdkVersion = -1;
-		int targetSdkVersion = -1;
-		NodeList sdkNodes = documentElement.getElementsByTagName("uses-sdk");
-		if (sdkNodes.getLength() > 0) {
-			Node sdkNode = sdkNodes.item(0);
-			minSdkVersion = extractAttributeIntValue(sdkNode, "android:minSdkVersion", -1);
-			maxSdkVersion = extractAttributeIntValue(sdkNode, "android:maxSdkVersion", -1);
-			targetSdkVersion = extractAttributeIntValue(sdkNode, "android:targetSdkVersion", -1);
-		}
+		int minSdkVersion = declarations.minSdkVersion;
+		int maxSdkVersion = declarations.maxSdkVersion;
+		int targetSdkVersion = declarations.targetSdkVersion;
 
 		if (libraryProject) {
 			return Option.of(AndroidManifest.createLibraryManifest(applicationPackage, minSdkVersion, maxSdkVersion, targetSdkVersion));
 		}
 
-		NodeList applicationNodes = documentElement.getElementsByTagName("application");
-
 		String applicationClassQualifiedName = null;
 		boolean applicationDebuggableMode = false;
 
-		if (applicationNodes.getLength() > 0) {
-			Node applicationNode = applicationNodes.item(0);
-			Node nameAttribute = applicationNode.getAttributes().getNamedItem("android:name");
+		if (declarations.hasApplication) {
+			String nameAttribute = declarations.applicationName;
 
 			applicationClassQualifiedName = manifestNameToValidQualifiedName(applicationPackage, nameAttribute);
 
 			if (applicationClassQualifiedName == null) {
 				if (nameAttribute != null) {
-					LOGGER.warn("The class application declared in the AndroidManifest.xml cannot be found in the compile path: [{}]", nameAttribute.getNodeValue());
+					LOGGER.warn("The class application declared in the AndroidManifest.xml cannot be found in the compile path: [{}]", nameAttribute);
 				}
 			}
 
-			Node debuggableAttribute = applicationNode.getAttributes().getNamedItem("android:debuggable");
+			String debuggableAttribute = declarations.applicationDebuggable;
 			if (debuggableAttribute != null) {
-				applicationDebuggableMode = debuggableAttribute.getNodeValue().equalsIgnoreCase("true");
+				applicationDebuggableMode = debuggableAttribute.equalsIgnoreCase("true");
 			}
 		}
 
-		NodeList activityNodes = documentElement.getElementsByTagName("activity");
-		List<String> activityQualifiedNames = extractComponentNames(applicationPackage, activityNodes);
-
-		NodeList serviceNodes = documentElement.getElementsByTagName("service");
-		List<String> serviceQualifiedNames = extractComponentNames(applicationPackage, serviceNodes);
-
-		NodeList receiverNodes = documentElement.getElementsByTagName("receiver");
-		List<String> receiverQualifiedNames = extractComponentNames(applicationPackage, receiverNodes);
-
-		NodeList providerNodes = documentElement.getElementsByTagName("provider");
-		List<String> providerQualifiedNames = extractComponentNames(applicationPackage, providerNodes);
+		List<String> activityQualifiedNames = extractComponentNames(applicationPackage, declarations.activityNames);
+		List<String> serviceQualifiedNames = extractComponentNames(applicationPackage, declarations.serviceNames);
+		List<String> receiverQualifiedNames = extractComponentNames(applicationPackage, declarations.receiverNames);
+		List<String> providerQualifiedNames = extractComponentNames(applicationPackage, declarations.providerNames);
 
 		List<String> componentQualifiedNames = new ArrayList<String>();
 		componentQualifiedNames.addAll(activityQualifiedNames);
@@ -213,35 +215,42 @@ public class AndroidManifestFinder {
 		componentQualifiedNames.addAll(receiverQualifiedNames);
 		componentQualifiedNames.addAll(providerQualifiedNames);
 
-		NodeList usesPermissionNodes = documentElement.getElementsByTagName("uses-permission");
-		List<String> usesPermissionQualifiedNames = extractUsesPermissionNames(usesPermissionNodes);
-
 		List<String> permissionQualifiedNames = new ArrayList<String>();
-		permissionQualifiedNames.addAll(usesPermissionQualifiedNames);
+		permissionQualifiedNames.addAll(declarations.usesPermissionNames);
 
 		return Option.of(AndroidManifest.createManifest(applicationPackage, applicationClassQualifiedName, componentQualifiedNames, permissionQualifiedNames, minSdkVersion, maxSdkVersion, targetSdkVersion, applicationDebuggableMode));
 	}
 
-	private int extractAttributeIntValue(Node node, String attribute, int defaultValue) {
-		try {
-			NamedNodeMap attributes = node.getAttributes();
-			if (attributes.getLength() > 0) {
-				Node attributeNode = attributes.getNamedItem(attribute);
-				if (attributeNode != null) {
-					return Integer.parseInt(attributeNode.getNodeValue());
-				}
+	/**
+	 * The manifest declarations only depend on the file content, so they are
+	 * shared by all the rounds and compilations running in the same JVM (e.g.
+	 * a Gradle daemon) until the file changes. The class names still have to
+	 * be resolved against each compilation classpath.
+	 */
+	private Declarations parseDeclarations(File androidManifestFile) throws IOException, XMLStreamException {
+		String cacheKey = androidManifestFile.getAbsolutePath() + "|" + androidManifestFile.lastModified() + "|" + androidManifestFile.length() + "|" + new TreeMap<String, String>(processingEnv.getOptions());
+
+		synchronized (DECLARATIONS_CACHE) {
+			Declarations declarations = DECLARATIONS_CACHE.get(cacheKey);
+			if (declarations != null) {
+				LOGGER.debug("Reusing the AndroidManifest.xml declarations parsed for {}", androidManifestFile);
+				return declarations;
 			}
-		} catch (NumberFormatException ignored) {
 		}
-		return defaultValue;
+
+		Declarations declarations = new AndroidManifestParser().parse(androidManifestFile);
+
+		synchronized (DECLARATIONS_CACHE) {
+			DECLARATIONS_CACHE.put(cacheKey, declarations);
+		}
+		return declarations;
 	}
 
-	private List<String> extractComponentNames(String applicationPackage, NodeList componentNodes) {
+	private List<String> extractComponentNames(String applicationPackage, List<String> componentNames) {
 		List<String> componentQualifiedNames = new ArrayList<String>();
 
-		for (int i = 0; i < componentNodes.getLength(); i++) {
-			Node activityNode = componentNodes.item(i);
-			Node nameAttribute = activityNode.getAttributes().getNamedItem("android:name");
+		for (int i = 0; i < componentNames.size(); i++) {
+			String nameAttribute = componentNames.get(i);
 
 			String qualifiedName = manifestNameToValidQualifiedName(applicationPackage, nameAttribute);
 
@@ -249,7 +258,7 @@ public class AndroidManifestFinder {
 				componentQualifiedNames.add(qualifiedName);
 			} else {
 				if (nameAttribute != null) {
-					LOGGER.warn("A class activity declared in the AndroidManifest.xml cannot be found in the compile path: [{}]", nameAttribute.getNodeValue());
+					LOGGER.warn("A class activity declared in the AndroidManifest.xml cannot be found in the compile path: [{}]", nameAttribute);
 				} else {
 					LOGGER.warn("The {} activity node in the AndroidManifest.xml has no android:name attribute", i);
 				}
@@ -258,9 +267,9 @@ public class AndroidManifestFinder {
 		return componentQualifiedNames;
 	}
 
-	private String manifestNameToValidQualifiedName(String applicationPackage, Node nameAttribute) {
+	private String manifestNameToValidQualifiedName(String applicationPackage, String nameAttribute) {
 		if (nameAttribute != null) {
-			String activityName = nameAttribute.getNodeValue();
+			String activityName = nameAttribute;
 			if (activityName.startsWith(applicationPackage)) {
 				return returnClassIfExistsOrNull(activityName);
 			} else {
@@ -296,20 +305,4 @@ public class AndroidManifestFinder {
 		}
 	}
 
-	private List<String> extractUsesPermissionNames(NodeList usesPermissionNodes) {
-		List<String> usesPermissionQualifiedNames = new ArrayList<String>();
-
-		for (int i = 0; i < usesPermissionNodes.getLength(); i++) {
-			Node usesPermissionNode = usesPermissionNodes.item(i);
-			Node nameAttribute = usesPermissionNode.getAttributes().getNamedItem("android:name");
-
-			if (nameAttribute == null) {
-				return null;
-			}
-
-			usesPermissionQualifiedNames.add(nameAttribute.getNodeValue());
-		}
-		return usesPermissionQualifiedNames;
-	}
-
 }
@@ -0,0 +1,181 @@
+/**
+ * Copyright (C) 2010-2014 eBusiness Information, Excilys Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.helper;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Reads the declarations AndroidAnnotations needs from an AndroidManifest.xml
+ * file in a single streaming pass. Class names are kept as written in the
+ * manifest: resolving them depends on the compilation classpath.
+ */
+public class AndroidManifestParser {
+
+	public static class Declarations {
+
+		public final String applicationPackage;
+		public final int minSdkVersion;
+		public final int maxSdkVersion;
+		public final int targetSdkVersion;
+		public final boolean hasApplication;
+		public final String applicationName;
+		public final String applicationDebuggable;
+
+		/*
+		 * A null name means the component has no android:name attribute
+		 */
+		public final List<String> activityNames;
+		public final List<String> serviceNames;
+		public final List<String> receiverNames;
+		public final List<String> providerNames;
+		public final List<String> usesPermissionNames;
+
+		private Declarations(Builder builder) {
+			applicationPackage = builder.applicationPackage;
+			minSdkVersion = builder.minSdkVersion;
+			maxSdkVersion = builder.maxSdkVersion;
+			targetSdkVersion = builder.targetSdkVersion;
+			hasApplication = builder.hasApplication;
+			applicationName = builder.applicationName;
+			applicationDebuggable = builder.applicationDebuggable;
+			activityNames = Collections.unmodifiableList(builder.activityNames);
+			serviceNames = Collections.unmodifiableList(builder.serviceNames);
+			receiverNames = Collections.unmodifiableList(builder.receiverNames);
+			providerNames = Collections.unmodifiableList(builder.providerNames);
+			usesPermissionNames = Collections.unmodifiableList(builder.usesPermissionNames);
+		}
+	}
+
+	private static class Builder {
+		private String applicationPackage = "";
+		private boolean hasUsesSdk;
+		private int minSdkVersion = -1;
+		private int maxSdkVersion = -1;
+		private int targetSdkVersion = -1;
+		private boolean hasApplication;
+		private String applicationName;
+		private String applicationDebuggable;
+		private final List<String> activityNames = new ArrayList<String>();
+		private final List<String> serviceNames = new ArrayList<String>();
+		private final List<String> receiverNames = new ArrayList<String>();
+		private final List<String> providerNames = new ArrayList<String>();
+		private final List<String> usesPermissionNames = new ArrayList<String>();
+	}
+
+	private static final String ANDROID_PREFIX = "android";
+
+	private final XMLInputFactory inputFactory;
+
+	public AndroidManifestParser() {
+		inputFactory = XMLInputFactory.newInstance();
+		inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+	}
+
+	public Declarations parse(File androidManifestFile) throws IOException, XMLStreamException {
+		InputStream input = new FileInputStream(androidManifestFile);
+		try {
+			XMLStreamReader reader = inputFactory.createXMLStreamReader(input);
+			try {
+				return parse(reader);
+			} finally {
+				reader.close();
+			}
+		} finally {
+			input.close();
+		}
+	}
+
+	private Declarations parse(XMLStreamReader reader) throws XMLStreamException {
+		Builder builder = new Builder();
+		boolean rootElement = true;
+
+		while (reader.hasNext()) {
+			if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+				continue;
+			}
+
+			String tag = reader.getLocalName();
+
+			if (rootElement) {
+				rootElement = false;
+				String applicationPackage = reader.getAttributeValue(null, "package");
+				if (applicationPackage != null) {
+					builder.applicationPackage = applicationPackage;
+				}
+			} else if ("uses-sdk".equals(tag)) {
+				if (!builder.hasUsesSdk) {
+					builder.hasUsesSdk = true;
+					builder.minSdkVersion = intAttribute(reader, "minSdkVersion", -1);
+					builder.maxSdkVersion = intAttribute(reader, "maxSdkVersion", -1);
+					builder.targetSdkVersion = intAttribute(reader, "targetSdkVersion", -1);
+				}
+			} else if ("application".equals(tag)) {
+				if (!builder.hasApplication) {
+					builder.hasApplication = true;
+					builder.applicationName = androidAttribute(reader, "name");
+					builder.applicationDebuggable = androidAttribute(reader, "debuggable");
+				}
+			} else if ("activity".equals(tag)) {
+				builder.activityNames.add(androidAttribute(reader, "name"));
+			} else if ("service".equals(tag)) {
+				builder.serviceNames.add(androidAttribute(reader, "name"));
+			} else if ("receiver".equals(tag)) {
+				builder.receiverNames.add(androidAttribute(reader, "name"));
+			} else if ("provider".equals(tag)) {
+				builder.providerNames.add(androidAttribute(reader, "name"));
+			} else if ("uses-permission".equals(tag)) {
+				String permissionName = androidAttribute(reader, "name");
+				if (permissionName != null) {
+					builder.usesPermissionNames.add(permissionName);
+				}
+			}
+		}
+
+		return new Declarations(builder);
+	}
+
+	private String androidAttribute(XMLStreamReader reader, String localName) {
+		for (int i = 0; i < reader.getAttributeCount(); i++) {
+			if (localName.equals(reader.getAttributeLocalName(i)) && ANDROID_PREFIX.equals(reader.getAttributePrefix(i))) {
+				return reader.getAttributeValue(i);
+			}
+		}
+		return null;
+	}
+
+	private int intAttribute(XMLStreamReader reader, String localName, int defaultValue) {
+		String value = androidAttribute(reader, localName);
+		if (value != null) {
+			try {
+				return Integer.parseInt(value);
+			} catch (NumberFormatException ignored) {
+			}
+		}
+		return defaultValue;
+	}
+}
@@ -22,6 +22,7 @@ import org.androidannotations.annotations.ResId;
 import org.androidannotations.logger.Level;
 import org.androidannotations.logger.Logger;
 import org.androidannotations.logger.LoggerFactory;
+import org.androidannotations.process.AndroidAnnotationsEnvironment;
 import org.androidannotations.process.ProcessHolder;
 import org.androidannotations.rclass.IRInnerClass;
 import org.androidannotations.rclass.RInnerClass;
@@ -30,19 +31,19 @@ import javax.annotation.processing.ProcessingEnvironment;
 import javax.lang.model.element.AnnotationMirror;
 import javax.lang.model.element.AnnotationValue;
 import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.Modifier;
 import javax.lang.model.element.NestingKind;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.type.DeclaredType;
-import javax.lang.model.type.MirroredTypeException;
 import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
 import java.lang.annotation.Annotation;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -57,9 +58,15 @@ public class AnnotationHelper {
 	private static final Logger LOGGER = LoggerFactory.getLogger(AnnotationHelper.class);
 
 	private final ProcessingEnvironment processingEnv;
+	private final AnnotationParameterCache annotationParameterCache;
 
 	public AnnotationHelper(ProcessingEnvironment processingEnv) {
 		this.processingEnv = processingEnv;
+		if (processingEnv instanceof AndroidAnnotationsEnvironment) {
+			annotationParameterCache = ((AndroidAnnotationsEnvironment) processingEnv).getAnnotationParameterCache();
+		} else {
+			annotationParameterCache = new AnnotationParameterCache();
+		}
 	}
 
 	/**
@@ -333,28 +340,52 @@ public class AnnotationHelper {
 		return values;
 	}
 
+	/**
+	 * Reads the value of the given annotation member from the
+	 * {@link AnnotationMirror}, falling back to the member default value. The
+	 * parameters of an annotation are parsed once per element and per round.
+	 *
+	 * @return the member value as the annotation proxy would return it, a
+	 *         {@link TypeMirror} for class values, or <code>null</code> if the
+	 *         annotation is absent or the value is erroneous
+	 */
 	@SuppressWarnings("unchecked")
 	public <T> T extractAnnotationParameter(Element element, String annotationName, String methodName) {
-		Annotation annotation;
-		try {
-			annotation = element.getAnnotation((Class<? extends Annotation>) Class.forName(annotationName));
-		} catch (ClassNotFoundException e) {
-			throw new RuntimeException("Could not load annotation class " + annotationName, e);
+		return (T) extractAnnotationParameters(element, annotationName).get(methodName);
+	}
+
+	public Map<String, Object> extractAnnotationParameters(Element element, String annotationName) {
+		Map<String, Object> parameters = annotationParameterCache.get(element, annotationName);
+		if (parameters == null) {
+			parameters = parseAnnotationParameters(element, annotationName);
+			annotationParameterCache.put(element, annotationName, parameters);
 		}
-		Method method;
-		try {
-			method = annotation.getClass().getMethod(methodName);
-			return (T) method.invoke(annotation);
-		} catch (InvocationTargetException e) {
-			if (e.getCause() instanceof MirroredTypeException) {
-				MirroredTypeException cause = (MirroredTypeException) e.getCause();
-				return (T) cause.getTypeMirror();
-			} else {
-				throw new RuntimeException(e);
+		return parameters;
+	}
+
+	private Map<String, Object> parseAnnotationParameters(Element element, String annotationName) {
+		AnnotationMirror annotationMirror = findAnnotationMirror(element, annotationName);
+		if (annotationMirror == null) {
+			return Collections.emptyMap();
+		}
+
+		Map<String, Object> parameters = new HashMap<String, Object>();
+		Map<? extends ExecutableElement, ? extends AnnotationValue> elementValues = annotationMirror.getElementValues();
+		AnnotationValueConverter converter = new AnnotationValueConverter();
+
+		for (Element member : annotationMirror.getAnnotationType().asElement().getEnclosedElements()) {
+			if (member.getKind() != ElementKind.METHOD) {
+				continue;
+			}
+			ExecutableElement memberMethod = (ExecutableElement) member;
+			AnnotationValue annotationValue = elementValues.get(memberMethod);
+			if (annotationValue == null) {
+				annotationValue = memberMethod.getDefaultValue();
 			}
-		} catch (Exception e) {
-			throw new RuntimeException(e);
+			Object value = annotationValue != null ? annotationValue.accept(converter, memberMethod.getReturnType()) : null;
+			parameters.put(memberMethod.getSimpleName().toString(), value);
 		}
+		return parameters;
 	}
 
 	public String actionName(String annotationName) {
@@ -0,0 +1,55 @@
+/**
+ * Copyright (C) 2010-2014 eBusiness Information, Excilys Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.helper;
+
+import javax.lang.model.element.Element;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Parameters of the annotations already read during the current round, keyed
+ * by annotated element then by annotation qualified name. Handlers and
+ * validators read the same annotation several times, so the parsed values are
+ * kept until {@link #clear()} is called at the end of the round.
+ * <p>
+ * The processor owns one instance, which the helpers get from the
+ * {@link org.androidannotations.process.AndroidAnnotationsEnvironment}.
+ */
+public class AnnotationParameterCache {
+
+	private final Map<Element, Map<String, Map<String, Object>>> parametersByElement = new HashMap<Element, Map<String, Map<String, Object>>>();
+
+	public Map<String, Object> get(Element element, String annotationName) {
+		Map<String, Map<String, Object>> parametersByAnnotation = parametersByElement.get(element);
+		if (parametersByAnnotation == null) {
+			return null;
+		}
+		return parametersByAnnotation.get(annotationName);
+	}
+
+	public void put(Element element, String annotationName, Map<String, Object> parameters) {
+		Map<String, Map<String, Object>> parametersByAnnotation = parametersByElement.get(element);
+		if (parametersByAnnotation == null) {
+			parametersByAnnotation = new HashMap<String, Map<String, Object>>();
+			parametersByElement.put(element, parametersByAnnotation);
+		}
+		parametersByAnnotation.put(annotationName, parameters);
+	}
+
+	public void clear() {
+		parametersByElement.clear();
+	}
+}
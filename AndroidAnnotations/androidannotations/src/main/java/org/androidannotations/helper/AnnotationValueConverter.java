@@ -0,0 +1,119 @@
+/**
+ * Copyright (C) 2010-2014 eBusiness Information, Excilys Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.helper;
+
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.SimpleAnnotationValueVisitor6;
+import java.lang.reflect.Array;
+import java.util.List;
+
+/**
+ * Converts an {@link AnnotationValue} to the value the annotation proxy would
+ * have returned, without loading the annotation class: boxed primitives,
+ * strings, primitive and string arrays. Class values are returned as
+ * {@link TypeMirror} and enum constants as their
+ * {@link javax.lang.model.element.VariableElement}.
+ * <p>
+ * The visitor parameter is the declared return type of the annotation member,
+ * which is used to type arrays and to detect erroneous values (e.g. a constant
+ * that doesn't exist anymore), for which <code>null</code> is returned.
+ */
+public class AnnotationValueConverter extends SimpleAnnotationValueVisitor6<Object, TypeMirror> {
+
+	@Override
+	protected Object defaultAction(Object value, TypeMirror memberType) {
+		if (memberType.getKind().isPrimitive() && !boxedType(memberType.getKind()).isInstance(value)) {
+			return null;
+		}
+		if (memberType.getKind() == TypeKind.DECLARED && memberType.toString().equals(String.class.getName()) && !(value instanceof String)) {
+			return null;
+		}
+		return value;
+	}
+
+	@Override
+	public Object visitArray(List<? extends AnnotationValue> values, TypeMirror memberType) {
+		if (memberType.getKind() != TypeKind.ARRAY) {
+			return null;
+		}
+		TypeMirror componentType = ((ArrayType) memberType).getComponentType();
+		Object array = Array.newInstance(componentClass(componentType), values.size());
+		for (int i = 0; i < values.size(); i++) {
+			Object value = values.get(i).accept(this, componentType);
+			if (value == null) {
+				return null;
+			}
+			Array.set(array, i, value);
+		}
+		return array;
+	}
+
+	private Class<?> componentClass(TypeMirror componentType) {
+		TypeKind kind = componentType.getKind();
+		if (kind.isPrimitive()) {
+			return primitiveType(kind);
+		}
+		if (componentType.toString().equals(String.class.getName())) {
+			return String.class;
+		}
+		return Object.class;
+	}
+
+	private Class<?> primitiveType(TypeKind kind) {
+		switch (kind) {
+		case BOOLEAN:
+			return boolean.class;
+		case BYTE:
+			return byte.class;
+		case SHORT:
+			return short.class;
+		case INT:
+			return int.class;
+		case LONG:
+			return long.class;
+		case CHAR:
+			return char.class;
+		case FLOAT:
+			return float.class;
+		default:
+			return double.class;
+		}
+	}
+
+	private Class<?> boxedType(TypeKind kind) {
+		switch (kind) {
+		case BOOLEAN:
+			return Boolean.class;
+		case BYTE:
+			return Byte.class;
+		case SHORT:
+			return Short.class;
+		case INT:
+			return Integer.class;
+		case LONG:
+			return Long.class;
+		case CHAR:
+			return Character.class;
+		case FLOAT:
+			return Float.class;
+		default:
+			return Double.class;
+		}
+	}
+}
@@ -104,7 +104,13 @@ public final class CanonicalNameConstants {
 	public static final String KEY_STORE = "java.security.KeyStore";
 	public static final String SQLLITE_OPEN_HELPER = "android.database.sqlite.SQLiteOpenHelper";
 	public static final String VIEW_SERVER = "org.androidannotations.api.ViewServer";
+	public static final String LAZY_VIEW = "org.androidannotations.api.view.LazyView";
+	public static final String VIEW_INDEX = "org.androidannotations.api.view.ViewIndex";
+	public static final String SPARSE_ARRAY = "android.util.SparseArray";
+	public static final String BINDABLE_VIEW = "org.androidannotations.api.view.BindableView";
+	public static final String RECYCLABLE_VIEW = "org.androidannotations.api.view.RecyclableView";
 	public static final String LOOPER = "android.os.Looper";
+	public static final String SYSTEM_CLOCK = "android.os.SystemClock";
 	public static final String POWER_MANAGER = "android.os.PowerManager";
 	public static final String WAKE_LOCK = "android.os.PowerManager.WakeLock";
 
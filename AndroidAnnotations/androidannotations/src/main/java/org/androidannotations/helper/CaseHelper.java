@@ -68,6 +68,14 @@ public class CaseHelper {
 		return first + end;
     }
 
+	public static String upperCaseFirst(String string) {
+		if (string.length() < 2)
+			return string.toUpperCase();
+		String first = string.substring(0, 1).toUpperCase();
+		String end = string.substring(1, string.length());
+		return first + end;
+	}
+
     public static String camelCaseToUpperSnakeCase(String prefix, String camelCase, String suffix) {
 		if (prefix != null && !camelCase.startsWith(prefix)) {
 			camelCase = prefix + "_" + camelCase;
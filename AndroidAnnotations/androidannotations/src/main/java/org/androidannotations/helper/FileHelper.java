@@ -48,7 +48,7 @@ public class FileHelper {
 
 		FileObject dummySourceFile;
 		try {
-			dummySourceFile = filer.createResource(StandardLocation.SOURCE_OUTPUT, "", "dummy" + System.currentTimeMillis());
+			dummySourceFile = filer.createResource(StandardLocation.SOURCE_OUTPUT, "", "dummy" + System.nanoTime());
 		} catch (IOException ignored) {
 			return Option.absent();
 		}
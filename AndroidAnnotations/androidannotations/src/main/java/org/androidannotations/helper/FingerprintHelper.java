@@ -0,0 +1,254 @@
+/**
+ * Copyright (C) 2010-2014 eBusiness Information, Excilys Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.helper;
+
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+
+/**
+ * Computes a hash of everything AndroidAnnotations reads from a type: its
+ * signature, the signatures of its members and nested types, all their
+ * annotations, and the same for its supertypes. Method bodies are ignored,
+ * since they never change the generated code.
+ * <p>
+ * The generated code of a type also depends on the types of its annotated
+ * members (the bean of a {@literal @}Bean field, the Parcelable of an
+ * {@literal @}Extra, the interface of a {@literal @}RestService...), so
+ * {@link #fingerprintWithDependencies(TypeElement)} adds their fingerprints.
+ */
+public class FingerprintHelper {
+
+	private static final String DIGEST_ALGORITHM = "SHA-1";
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+	private final Elements elementUtils;
+	private final Map<String, String> fingerprintsByQualifiedName = new HashMap<String, String>();
+
+	public FingerprintHelper(Elements elementUtils) {
+		this.elementUtils = elementUtils;
+	}
+
+	public static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance(DIGEST_ALGORITHM);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(DIGEST_ALGORITHM + " is not available", e);
+		}
+	}
+
+	public static String hash(String value) {
+		try {
+			return toHex(newDigest().digest(value.getBytes("UTF-8")));
+		} catch (UnsupportedEncodingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	public static String toHex(byte[] bytes) {
+		char[] chars = new char[bytes.length * 2];
+		for (int i = 0; i < bytes.length; i++) {
+			chars[2 * i] = HEX_DIGITS[(bytes[i] >> 4) & 0xF];
+			chars[2 * i + 1] = HEX_DIGITS[bytes[i] & 0xF];
+		}
+		return new String(chars);
+	}
+
+	/**
+	 * Fingerprints are cached by qualified name, so that common supertypes
+	 * (such as android.app.Activity) are only walked once.
+	 */
+	public String fingerprint(TypeElement typeElement) {
+		String qualifiedName = typeElement.getQualifiedName().toString();
+		String fingerprint = fingerprintsByQualifiedName.get(qualifiedName);
+		if (fingerprint == null) {
+			StringBuilder sb = new StringBuilder();
+			appendElement(sb, typeElement);
+			appendSupertype(sb, typeElement.getSuperclass());
+			for (TypeMirror interfaceType : typeElement.getInterfaces()) {
+				appendSupertype(sb, interfaceType);
+			}
+			fingerprint = hash(sb.toString());
+			fingerprintsByQualifiedName.put(qualifiedName, fingerprint);
+		}
+		return fingerprint;
+	}
+
+	/**
+	 * The fingerprint of the given type followed by the fingerprints of the
+	 * types of its annotated members, its nested types and its supertypes. The
+	 * dependencies are sorted by name so that the hash does not depend on the
+	 * order in which types are fingerprinted, and only their own fingerprint is
+	 * used, so cycles between types are not followed.
+	 */
+	public String fingerprintWithDependencies(TypeElement typeElement) {
+		Set<String> dependencies = new TreeSet<String>();
+		collectDependencies(dependencies, typeElement);
+		dependencies.remove(typeElement.getQualifiedName().toString());
+
+		StringBuilder sb = new StringBuilder(fingerprint(typeElement)).append('\n');
+		for (String dependency : dependencies) {
+			TypeElement dependencyElement = elementUtils.getTypeElement(dependency);
+			if (dependencyElement != null) {
+				sb.append(dependency).append(' ').append(fingerprint(dependencyElement)).append('\n');
+			}
+		}
+		return hash(sb.toString());
+	}
+
+	private void collectDependencies(Set<String> dependencies, TypeElement typeElement) {
+		for (Element enclosedElement : typeElement.getEnclosedElements()) {
+			if (enclosedElement instanceof TypeElement) {
+				collectDependencies(dependencies, (TypeElement) enclosedElement);
+			} else if (!enclosedElement.getAnnotationMirrors().isEmpty()) {
+				collectMemberDependencies(dependencies, enclosedElement);
+			}
+		}
+
+		TypeMirror superclass = typeElement.getSuperclass();
+		if (superclass instanceof DeclaredType) {
+			TypeElement superclassElement = (TypeElement) ((DeclaredType) superclass).asElement();
+			if (!isPlatformType(superclassElement.getQualifiedName().toString())) {
+				collectDependencies(dependencies, superclassElement);
+			}
+		}
+	}
+
+	private void collectMemberDependencies(Set<String> dependencies, Element member) {
+		for (AnnotationMirror annotationMirror : member.getAnnotationMirrors()) {
+			for (AnnotationValue annotationValue : annotationMirror.getElementValues().values()) {
+				collectAnnotationValueDependencies(dependencies, annotationValue.getValue());
+			}
+		}
+
+		if (member instanceof ExecutableElement) {
+			ExecutableElement method = (ExecutableElement) member;
+			collectTypeDependencies(dependencies, method.getReturnType());
+			for (VariableElement parameter : method.getParameters()) {
+				collectTypeDependencies(dependencies, parameter.asType());
+			}
+		} else {
+			collectTypeDependencies(dependencies, member.asType());
+		}
+	}
+
+	private void collectAnnotationValueDependencies(Set<String> dependencies, Object value) {
+		if (value instanceof TypeMirror) {
+			collectTypeDependencies(dependencies, (TypeMirror) value);
+		} else if (value instanceof List) {
+			for (Object item : (List<?>) value) {
+				if (item instanceof AnnotationValue) {
+					collectAnnotationValueDependencies(dependencies, ((AnnotationValue) item).getValue());
+				}
+			}
+		}
+	}
+
+	private void collectTypeDependencies(Set<String> dependencies, TypeMirror type) {
+		if (type.getKind() == TypeKind.ARRAY) {
+			collectTypeDependencies(dependencies, ((ArrayType) type).getComponentType());
+		} else if (type.getKind() == TypeKind.DECLARED || type.getKind() == TypeKind.ERROR) {
+			DeclaredType declaredType = (DeclaredType) type;
+			Element element = declaredType.asElement();
+			if (element.getKind() != ElementKind.ANNOTATION_TYPE) {
+				addDependency(dependencies, ((TypeElement) element).getQualifiedName().toString());
+			}
+			for (TypeMirror typeArgument : declaredType.getTypeArguments()) {
+				collectTypeDependencies(dependencies, typeArgument);
+			}
+		}
+	}
+
+	/**
+	 * A generated class (such as the MyPrefs_ of a {@literal @}Pref field) only
+	 * depends on the type it is generated from, which may be processed in the
+	 * same round, so that type is used instead.
+	 */
+	private void addDependency(Set<String> dependencies, String qualifiedName) {
+		if (isPlatformType(qualifiedName)) {
+			return;
+		}
+		if (qualifiedName.endsWith(ModelConstants.GENERATION_SUFFIX)) {
+			String sourceName = qualifiedName.substring(0, qualifiedName.length() - ModelConstants.GENERATION_SUFFIX.length());
+			if (elementUtils.getTypeElement(sourceName) != null) {
+				dependencies.add(sourceName);
+				return;
+			}
+		}
+		dependencies.add(qualifiedName);
+	}
+
+	/**
+	 * Platform types only change with the SDK, and walking them (such as
+	 * android.view.View) would be much more expensive than the project types.
+	 */
+	private boolean isPlatformType(String qualifiedName) {
+		return qualifiedName.startsWith("java.") || qualifiedName.startsWith("javax.") || qualifiedName.startsWith("android.");
+	}
+
+	private void appendSupertype(StringBuilder sb, TypeMirror supertype) {
+		if (supertype instanceof DeclaredType) {
+			TypeElement supertypeElement = (TypeElement) ((DeclaredType) supertype).asElement();
+			if (!supertypeElement.getQualifiedName().toString().startsWith("java.")) {
+				sb.append(fingerprint(supertypeElement));
+			}
+			sb.append('\n');
+		}
+	}
+
+	private void appendElement(StringBuilder sb, Element element) {
+		sb.append(element.getKind()) //
+				.append(' ').append(element.getModifiers()) //
+				.append(' ').append(element.getSimpleName()) //
+				.append(' ').append(element.asType()) //
+				.append('\n');
+
+		for (AnnotationMirror annotationMirror : element.getAnnotationMirrors()) {
+			sb.append(annotationMirror).append('\n');
+		}
+
+		if (element instanceof ExecutableElement) {
+			for (VariableElement parameter : ((ExecutableElement) element).getParameters()) {
+				appendElement(sb, parameter);
+			}
+		} else if (element instanceof TypeElement) {
+			TypeElement typeElement = (TypeElement) element;
+			sb.append(typeElement.getSuperclass()).append(' ').append(typeElement.getInterfaces()).append('\n');
+			for (Element enclosedElement : typeElement.getEnclosedElements()) {
+				appendElement(sb, enclosedElement);
+			}
+		}
+	}
+
+}
@@ -16,12 +16,12 @@
 package org.androidannotations.helper;
 
 import java.util.List;
-import java.util.Set;
 
 import javax.lang.model.element.Element;
 
 import org.androidannotations.annotations.ResId;
 import org.androidannotations.model.AnnotationElements;
+import org.androidannotations.model.UniqueIdIndex;
 import org.androidannotations.process.IsValid;
 import org.androidannotations.rclass.IRClass.Res;
 
@@ -91,31 +91,25 @@ public class IdValidatorHelper extends ValidatorHelper {
 
 		if (valid.isValid()) {
 
+			String annotationName = annotationHelper.getTarget();
+			UniqueIdIndex uniqueIdIndex = validatedElements.getUniqueIdIndex(annotationName);
+
 			List<String> annotationQualifiedIds = idAnnotationHelper.extractAnnotationResources(element, Res.ID, true);
 
 			Element elementEnclosingElement = element.getEnclosingElement();
-			Set<? extends Element> annotatedElements = validatedElements.getRootAnnotatedElements(annotationHelper.getTarget());
-
-			for (Element uniqueCheckElement : annotatedElements) {
-				Element uniqueCheckEnclosingElement = uniqueCheckElement.getEnclosingElement();
-
-				if (elementEnclosingElement.equals(uniqueCheckEnclosingElement)) {
-
-					List<String> checkQualifiedIds = idAnnotationHelper.extractAnnotationResources(uniqueCheckElement, Res.ID, true);
 
-					for (String checkQualifiedId : checkQualifiedIds) {
-						for (String annotationQualifiedId : annotationQualifiedIds) {
+			for (String annotationQualifiedId : annotationQualifiedIds) {
+				Element uniqueCheckElement = uniqueIdIndex.get(elementEnclosingElement, annotationQualifiedId);
 
-							if (annotationQualifiedId.equals(checkQualifiedId)) {
-								valid.invalidate();
-								String annotationSimpleId = annotationQualifiedId.substring(annotationQualifiedId.lastIndexOf('.') + 1);
-								annotationHelper.printAnnotationError(element, "The id " + annotationSimpleId + " is already used on the following " + annotationHelper.annotationName() + " method: " + uniqueCheckElement);
-								return;
-							}
-						}
-					}
+				if (uniqueCheckElement != null && !uniqueCheckElement.equals(element)) {
+					valid.invalidate();
+					String annotationSimpleId = annotationQualifiedId.substring(annotationQualifiedId.lastIndexOf('.') + 1);
+					annotationHelper.printAnnotationError(element, "The id " + annotationSimpleId + " is already used on the following " + annotationHelper.annotationName() + " method: " + uniqueCheckElement);
+					return;
 				}
 			}
+
+			uniqueIdIndex.setPending(element, annotationQualifiedIds);
 		}
 	}
 
@@ -31,7 +31,11 @@ public class OptionsHelper {
 		RESOURCE_PACKAGE_NAME("resourcePackageName"), //
 		LOG_FILE("logFile"), //
 		LOG_LEVEL("logLevel"), //
-		LOG_APPENDER_CONSOLE("logAppenderConsole");
+		LOG_APPENDER_CONSOLE("logAppenderConsole"), //
+		INCREMENTAL("incremental"), //
+		PROFILE("profile"), //
+		VIEW_INDEX_THRESHOLD("viewIndexThreshold"), //
+		SHARED_LISTENERS("sharedListeners");
 
 		private String key;
 
@@ -86,6 +90,42 @@ public class OptionsHelper {
 		return getBoolean(Option.LOG_APPENDER_CONSOLE);
 	}
 
+	public boolean shouldProcessIncrementally() {
+		return getBoolean(Option.INCREMENTAL);
+	}
+
+	/**
+	 * @return "csv" or "json" if a profiling report should be written, null
+	 *         otherwise
+	 */
+	public String getProfileFormat() {
+		if (!getBoolean(Option.PROFILE)) {
+			return null;
+		}
+		return "csv".equalsIgnoreCase(getString(Option.PROFILE)) ? "csv" : "json";
+	}
+
+	/**
+	 * @return the number of @ViewById fields from which a component finds its
+	 *         views with a single walk of the view hierarchy, or 0 if it
+	 *         should never do so
+	 */
+	public int getViewIndexThreshold() {
+		try {
+			return Math.max(0, Integer.parseInt(getString(Option.VIEW_INDEX_THRESHOLD)));
+		} catch (NumberFormatException e) {
+			return 0;
+		}
+	}
+
+	/**
+	 * @return true if a component should bind all its views with one listener
+	 *         per listener type, instead of one per annotated method
+	 */
+	public boolean shouldShareListeners() {
+		return getBoolean(Option.SHARED_LISTENERS);
+	}
+
 	private String getString(Option option) {
 		return options.get(option.getKey());
 	}
@@ -153,7 +153,7 @@ public class RestAnnotationHelper extends TargetAnnotationHelper {
 
 		JClass hashMapClass = holder.classes().HASH_MAP.narrow(String.class, Object.class);
 		if (!urlVariables.isEmpty()) {
-			JVar hashMapVar = methodBody.decl(hashMapClass, "urlVariables", JExpr._new(hashMapClass));
+			JVar hashMapVar = methodBody.decl(hashMapClass, "urlVariables", JExpr._new(hashMapClass).arg(JExpr.lit(hashMapCapacity(urlVariables.size()))));
 			for (String urlVariable : urlVariables) {
 				JVar methodParam = methodParams.get(urlVariable);
 				if (methodParam != null) {
@@ -170,6 +170,14 @@ public class RestAnnotationHelper extends TargetAnnotationHelper {
 		return null;
 	}
 
+	/**
+	 * @return the initial capacity of a HashMap holding the given number of
+	 *         entries without being resized
+	 */
+	private static int hashMapCapacity(int size) {
+		return size * 4 / 3 + 1;
+	}
+
 	public String acceptedHeaders(ExecutableElement executableElement) {
 		Accept acceptAnnotation = executableElement.getAnnotation(Accept.class);
 		if (acceptAnnotation == null) {
@@ -258,11 +266,7 @@ public class RestAnnotationHelper extends TargetAnnotationHelper {
 		}
 
 		if (hasMediaTypeDefined) {
-			JClass collectionsClass = holder.refClass(CanonicalNameConstants.COLLECTIONS);
-			JClass mediaTypeClass = holder.refClass(CanonicalNameConstants.MEDIA_TYPE);
-
-			JInvocation mediaTypeListParam = collectionsClass.staticInvoke("singletonList").arg(mediaTypeClass.staticInvoke("parseMediaType").arg(mediaType));
-			body.add(JExpr.invoke(httpHeadersVar, "setAccept").arg(mediaTypeListParam));
+			body.add(JExpr.invoke(httpHeadersVar, "setAccept").arg(holder.getAcceptField(mediaType)));
 		}
 
 		if (requiresCookies) {
@@ -270,8 +274,7 @@ public class RestAnnotationHelper extends TargetAnnotationHelper {
 			JVar cookiesValueVar = body.decl(stringBuilderClass, "cookiesValue", JExpr._new(stringBuilderClass));
 			for (String cookie : cookies) {
 				JInvocation cookieValue = JExpr.invoke(holder.getAvailableCookiesField(), "get").arg(cookie);
-				JInvocation cookieFormatted = holder.classes().STRING.staticInvoke("format").arg(String.format("%s=%%s;", cookie)).arg(cookieValue);
-				JInvocation appendCookie = JExpr.invoke(cookiesValueVar, "append").arg(cookieFormatted);
+				JInvocation appendCookie = JExpr.invoke(cookiesValueVar, "append").arg(cookie + "=").invoke("append").arg(cookieValue).invoke("append").arg(JExpr.lit(';'));
 				body.add(appendCookie);
 			}
 
@@ -15,6 +15,8 @@
  */
 package org.androidannotations.helper;
 
+import org.androidannotations.annotations.Background;
+import org.androidannotations.annotations.Coalesce;
 import org.androidannotations.annotations.EActivity;
 import org.androidannotations.annotations.EBean;
 import org.androidannotations.annotations.EFragment;
@@ -495,6 +497,25 @@ public class ValidatorHelper {
 		extendsType(element, CanonicalNameConstants.VIEW, valid);
 	}
 
+	public void extendsViewOrIsLazyView(Element element, IsValid valid) {
+		TypeMirror elementType = element.asType();
+		if (!isLazyView(elementType)) {
+			extendsView(element, valid);
+			return;
+		}
+
+		List<? extends TypeMirror> typeArguments = ((DeclaredType) elementType).getTypeArguments();
+		TypeElement viewElement = annotationHelper.typeElementFromQualifiedName(CanonicalNameConstants.VIEW);
+		if (typeArguments.size() != 1 || viewElement == null || !annotationHelper.isSubtype(typeArguments.get(0), viewElement.asType())) {
+			valid.invalidate();
+			annotationHelper.printAnnotationError(element, "%s can only be used on a LazyView of a type that extends " + CanonicalNameConstants.VIEW);
+		}
+	}
+
+	public boolean isLazyView(TypeMirror type) {
+		return type instanceof DeclaredType && ((DeclaredType) type).asElement().toString().equals(CanonicalNameConstants.LAZY_VIEW);
+	}
+
 	public void extendsTextView(Element element, IsValid valid) {
 		extendsType(element, CanonicalNameConstants.TEXT_VIEW, valid);
 	}
@@ -995,6 +1016,28 @@ public class ValidatorHelper {
 
 	}
 
+	public void hasValidMaxPending(Element element, IsValid isValid) {
+		Background annotation = element.getAnnotation(Background.class);
+		int maxPending = annotation.maxPending();
+
+		if (maxPending < 0) {
+			annotationHelper.printAnnotationError(element, "%s maxPending must be positive, or 0 for no limit");
+			isValid.invalidate();
+		} else if (maxPending > 0 && "".equals(annotation.serial())) {
+			annotationHelper.printAnnotationError(element, "%s maxPending can only be used with a serial");
+			isValid.invalidate();
+		}
+	}
+
+	public void coalescedBackgroundHasId(Element element, IsValid isValid) {
+		Background annotation = element.getAnnotation(Background.class);
+
+		if (annotation.coalesce() == Coalesce.LATEST && "".equals(annotation.id())) {
+			annotationHelper.printAnnotationError(element, "%s coalesce can only be used with an id");
+			isValid.invalidate();
+		}
+	}
+
 	public void canBePutInABundle(Element element, IsValid isValid) {
 		String typeString = element.asType().toString();
 
@@ -0,0 +1,65 @@
+/**
+ * Copyright (C) 2010-2014 eBusiness Information, Excilys Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.holder;
+
+import static com.sun.codemodel.JExpr._null;
+import static com.sun.codemodel.JExpr.lit;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.sun.codemodel.JBlock;
+import com.sun.codemodel.JSwitch;
+import com.sun.codemodel.JVar;
+
+/**
+ * Dispatches an intent action with a switch on its hash code, computed at
+ * processing time for each declared action, so that only the actions sharing
+ * the hash code of the received one are compared with <code>equals()</code>.
+ */
+public class ActionSwitchHolder {
+
+	private final JBlock body;
+	private final JVar action;
+	private JSwitch actionSwitch;
+	private final Map<Integer, JBlock> caseBodies = new HashMap<Integer, JBlock>();
+
+	public ActionSwitchHolder(JBlock body, JVar action) {
+		this.body = body;
+		this.action = action;
+	}
+
+	/**
+	 * @return the block, ended by a break, where the action should be compared
+	 *         with the given value
+	 */
+	public JBlock getCaseBody(String actionValue) {
+		if (actionSwitch == null) {
+			actionSwitch = body._if(action.ne(_null()))._then()._switch(action.invoke("hashCode"));
+		}
+
+		int hashCode = actionValue.hashCode();
+		JBlock caseBody = caseBodies.get(hashCode);
+		if (caseBody == null) {
+			JBlock switchCaseBody = actionSwitch._case(lit(hashCode)).body();
+			caseBody = new JBlock(false, false);
+			switchCaseBody.add(caseBody);
+			switchCaseBody._break();
+			caseBodies.put(hashCode, caseBody);
+		}
+		return caseBody;
+	}
+}
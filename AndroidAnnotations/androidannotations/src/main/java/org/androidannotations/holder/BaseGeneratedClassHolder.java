@@ -117,4 +117,14 @@ public abstract class BaseGeneratedClassHolder implements GeneratedClassHolder {
 	public JDefinedClass definedClass(String fullyQualifiedClassName) {
 		return processHolder.definedClass(fullyQualifiedClassName);
 	}
+
+	@Override
+	public JClass getTypeMirrorClass(String typeKey) {
+		return processHolder.getTypeMirrorClass(typeKey);
+	}
+
+	@Override
+	public void putTypeMirrorClass(String typeKey, JClass typeClass) {
+		processHolder.putTypeMirrorClass(typeKey, typeClass);
+	}
 }
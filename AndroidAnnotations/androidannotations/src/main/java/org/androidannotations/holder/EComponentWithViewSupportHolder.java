@@ -43,6 +43,10 @@ public abstract class EComponentWithViewSupportHolder extends EComponentHolder {
 	protected JMethod findSupportFragmentByTag;
 	private HashMap<String, TextWatcherHolder> textWatcherHolders = new HashMap<String, TextWatcherHolder>();
 	private HashMap<String, OnSeekBarChangeListenerHolder> onSeekBarChangeListenerHolders = new HashMap<String, OnSeekBarChangeListenerHolder>();
+	private HashMap<String, SharedListenerHolder> sharedListenerHolders = new HashMap<String, SharedListenerHolder>();
+	private JVar viewIndex;
+	private JArray viewIndexIds;
+	private Boolean indexViews;
 
 	public EComponentWithViewSupportHolder(ProcessHolder processHolder, TypeElement annotatedElement) throws Exception {
 		super(processHolder, annotatedElement);
@@ -107,6 +111,82 @@ public abstract class EComponentWithViewSupportHolder extends EComponentHolder {
 		block.assign(fieldRef, assignExpression);
 	}
 
+	/**
+	 * Same as {@link #assignFindViewById(JFieldRef, JClass, JFieldRef)}, but
+	 * the view is taken from the index built by a single walk of the view
+	 * hierarchy, before the first indexed view is assigned.
+	 */
+	public void assignIndexedView(JFieldRef idRef, JClass viewClass, JFieldRef fieldRef) {
+		String idRefString = codeModelHelper.getIdStringFromIdFieldRef(idRef);
+		FoundViewHolder foundViewHolder = foundViewsHolders.get(idRefString);
+
+		JBlock block = getOnViewChangedBody();
+		JExpression assignExpression;
+
+		if (foundViewHolder != null) {
+			assignExpression = foundViewHolder.getView(viewClass);
+		} else {
+			assignExpression = getViewIndex().invoke("get").arg(idRef);
+			viewIndexIds.add(idRef);
+			if (viewClass != null && viewClass != classes().VIEW) {
+				assignExpression = cast(viewClass, assignExpression);
+			}
+			foundViewsHolders.put(idRefString, new FoundViewHolder(this, viewClass, fieldRef, block));
+		}
+
+		block.assign(fieldRef, assignExpression);
+	}
+
+	/**
+	 * Whether the views of this component are taken from a view index, or
+	 * null when not decided yet.
+	 */
+	public Boolean getIndexViews() {
+		return indexViews;
+	}
+
+	public void setIndexViews(boolean indexViews) {
+		this.indexViews = indexViews;
+	}
+
+	public JVar getViewIndex() {
+		if (viewIndex == null) {
+			setViewIndex();
+		}
+		return viewIndex;
+	}
+
+	private void setViewIndex() {
+		viewIndexIds = newArray(codeModel().INT);
+		JFieldVar viewIdsField = getGeneratedClass().field(PRIVATE | STATIC | FINAL, codeModel().INT.array(), "VIEW_IDS_", viewIndexIds);
+
+		JInvocation index = classes().VIEW_INDEX.staticInvoke("index").arg(getOnViewChangedHasViewsParam());
+		JExpression root = getViewIndexRoot();
+		if (root != null) {
+			index.arg(root);
+		}
+		index.arg(viewIdsField);
+		viewIndex = getOnViewChangedBody().decl(classes().SPARSE_ARRAY.narrow(classes().VIEW), "views_", index);
+	}
+
+	/**
+	 * The root of the view hierarchy walked by the view index, or null when
+	 * it can be found from the {@link HasViews} itself.
+	 */
+	protected JExpression getViewIndexRoot() {
+		return null;
+	}
+
+	/**
+	 * Creates the {@link org.androidannotations.api.view.LazyView LazyView}
+	 * of a field once, and resets it each time the content view changes,
+	 * instead of looking up the view.
+	 */
+	public void assignLazyView(JFieldRef idRef, JClass lazyViewClass, JFieldRef fieldRef) {
+		getInitBody().assign(fieldRef, _new(lazyViewClass).arg(idRef));
+		getOnViewChangedBodyBeforeFindViews().invoke(fieldRef, "reset").arg(getOnViewChangedHasViewsParam());
+	}
+
 	public FoundViewHolder getFoundViewHolder(JFieldRef idRef, JClass viewClass) {
 		String idRefString = codeModelHelper.getIdStringFromIdFieldRef(idRef);
 		FoundViewHolder foundViewHolder = foundViewsHolders.get(idRefString);
@@ -257,4 +337,18 @@ public abstract class EComponentWithViewSupportHolder extends EComponentHolder {
 
 		return new OnSeekBarChangeListenerHolder(this, onSeekbarChangeListenerClass);
 	}
+
+	/**
+	 * @return the shared listener of the given type, or <b>null</b> if it is
+	 *         not created yet
+	 */
+	public SharedListenerHolder getSharedListenerHolder(JClass listenerClass) {
+		return sharedListenerHolders.get(listenerClass.fullName());
+	}
+
+	public SharedListenerHolder createSharedListenerHolder(JClass listenerClass, JDefinedClass listenerAnonymousClass, JMethod listenerMethod) {
+		SharedListenerHolder sharedListenerHolder = new SharedListenerHolder(this, listenerClass, listenerAnonymousClass, listenerMethod);
+		sharedListenerHolders.put(listenerClass.fullName(), sharedListenerHolder);
+		return sharedListenerHolder;
+	}
 }
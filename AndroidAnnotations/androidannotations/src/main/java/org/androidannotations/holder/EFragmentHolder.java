@@ -20,6 +20,7 @@ import com.sun.codemodel.JClass;
 import com.sun.codemodel.JClassAlreadyExistsException;
 import com.sun.codemodel.JDefinedClass;
 import com.sun.codemodel.JExpr;
+import com.sun.codemodel.JExpression;
 import com.sun.codemodel.JFieldRef;
 import com.sun.codemodel.JFieldVar;
 import com.sun.codemodel.JGenerifiable;
@@ -234,6 +235,11 @@ public class EFragmentHolder extends EComponentWithViewSupportHolder implements
 		return contentView;
 	}
 
+	@Override
+	protected JExpression getViewIndexRoot() {
+		return getContentView();
+	}
+
 	private void setContentView() {
 		contentView = generatedClass.field(PRIVATE, classes().VIEW, "contentView_");
 	}
@@ -34,6 +34,7 @@ public class EIntentServiceHolder extends EServiceHolder {
     private JMethod onHandleIntentMethod;
     private JBlock onHandleIntentBody;
     private JVar onHandleIntentIntentAction;
+    private ActionSwitchHolder onHandleIntentActionSwitch;
 
     public EIntentServiceHolder(ProcessHolder processHolder, TypeElement annotatedElement, AndroidManifest androidManifest) throws Exception {
         super(processHolder, annotatedElement, androidManifest);
@@ -67,6 +68,13 @@ public class EIntentServiceHolder extends EServiceHolder {
         return onHandleIntentIntentAction;
     }
 
+    public ActionSwitchHolder getOnHandleIntentActionSwitch() {
+        if (onHandleIntentActionSwitch == null) {
+            onHandleIntentActionSwitch = new ActionSwitchHolder(getOnHandleIntentBody(), getOnHandleIntentIntentAction());
+        }
+        return onHandleIntentActionSwitch;
+    }
+
     private void createOnHandleIntent() {
         onHandleIntentMethod = generatedClass.method(PUBLIC, codeModel().VOID, "onHandleIntent");
         onHandleIntentIntent = onHandleIntentMethod.param(classes().INTENT, "intent");
@@ -34,6 +34,7 @@ public class EReceiverHolder extends EComponentHolder {
 	private JFieldVar contextField;
 	private JBlock onReceiveBody;
 	private JVar onReceiveIntentAction;
+	private ActionSwitchHolder onReceiveActionSwitch;
 	private JVar onReceiveIntent;
 	private JVar onReceiveContext;
 	private JMethod onReceiveMethod;
@@ -105,6 +106,13 @@ public class EReceiverHolder extends EComponentHolder {
 		return onReceiveIntentAction;
 	}
 
+	public ActionSwitchHolder getOnReceiveActionSwitch() {
+		if (onReceiveActionSwitch == null) {
+			onReceiveActionSwitch = new ActionSwitchHolder(getOnReceiveBody(), getOnReceiveIntentAction());
+		}
+		return onReceiveActionSwitch;
+	}
+
 	public JFieldVar getContextField() {
 		if (contextField == null) {
 			setContextRef();
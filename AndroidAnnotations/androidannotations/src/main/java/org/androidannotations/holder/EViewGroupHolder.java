@@ -15,6 +15,7 @@
  */
 package org.androidannotations.holder;
 
+import static com.sun.codemodel.JMod.PRIVATE;
 import static com.sun.codemodel.JMod.PUBLIC;
 
 import javax.lang.model.element.TypeElement;
@@ -22,7 +23,11 @@ import javax.lang.model.element.TypeElement;
 import org.androidannotations.process.ProcessHolder;
 
 import com.sun.codemodel.JBlock;
+import com.sun.codemodel.JClass;
 import com.sun.codemodel.JExpr;
+import com.sun.codemodel.JFieldVar;
+import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JVar;
 
 public class EViewGroupHolder extends EViewHolder {
 
@@ -54,4 +59,28 @@ public class EViewGroupHolder extends EViewHolder {
 		}
 		return setContentViewBlock;
 	}
+
+	/**
+	 * Makes the generated class a RecyclableView which remembers the item it
+	 * was last bound to, and skips binding the same item again for the same
+	 * version of the adapter data. The boundItem_ field keeps that item
+	 * strongly reachable for as long as the row is recycled.
+	 */
+	public void setRecyclableView(JClass itemClass) {
+		generatedClass._implements(classes().RECYCLABLE_VIEW.narrow(itemClass));
+
+		JFieldVar boundItem = generatedClass.field(PRIVATE, itemClass, "boundItem_");
+		JFieldVar boundDataVersion = generatedClass.field(PRIVATE, codeModel().INT, "boundDataVersion_", JExpr.lit(-1));
+
+		JMethod bindIfChanged = generatedClass.method(PUBLIC, codeModel().VOID, "bindIfChanged");
+		bindIfChanged.annotate(Override.class);
+		JVar item = bindIfChanged.param(itemClass, "item");
+		JVar dataVersion = bindIfChanged.param(codeModel().INT, "dataVersion");
+
+		JBlock body = bindIfChanged.body();
+		body._if(item.eq(boundItem).cand(dataVersion.eq(boundDataVersion)))._then()._return();
+		body.invoke("bind").arg(item);
+		body.assign(boundItem, item);
+		body.assign(boundDataVersion, dataVersion);
+	}
 }
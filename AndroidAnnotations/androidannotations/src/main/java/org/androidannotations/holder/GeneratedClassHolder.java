@@ -40,4 +40,8 @@ public interface GeneratedClassHolder {
 	JClass refClass(Class<?> clazz);
 
 	JDefinedClass definedClass(String fullyQualifiedClassName);
+
+	JClass getTypeMirrorClass(String typeKey);
+
+	void putTypeMirrorClass(String typeKey, JClass typeClass);
 }
@@ -140,4 +140,14 @@ public class InstanceStateHolder implements HasInstanceState {
 	public JDefinedClass definedClass(String fullyQualifiedClassName) {
 		return holder.definedClass(fullyQualifiedClassName);
 	}
+
+	@Override
+	public JClass getTypeMirrorClass(String typeKey) {
+		return holder.getTypeMirrorClass(typeKey);
+	}
+
+	@Override
+	public void putTypeMirrorClass(String typeKey, JClass typeClass) {
+		holder.putTypeMirrorClass(typeKey, typeClass);
+	}
 }
@@ -21,7 +21,10 @@ import static com.sun.codemodel.JExpr.lit;
 import static org.androidannotations.helper.CanonicalNameConstants.REST_TEMPLATE;
 import static org.androidannotations.helper.CanonicalNameConstants.STRING;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.TypeElement;
@@ -52,6 +55,14 @@ public class RestHolder extends BaseGeneratedClassHolder {
 	private JFieldVar availableCookiesField;
 	private JFieldVar authenticationField;
 	private JFieldVar restErrorHandlerField;
+	private JMethod setRootUrlMethod;
+	private Map<String, JFieldVar> urlFields = new HashMap<String, JFieldVar>();
+	/*
+	 * The url suffix named after each base name, or null once several
+	 * suffixes gave this base name.
+	 */
+	private Map<String, String> urlSuffixesByBaseName = new HashMap<String, String>();
+	private Map<String, JFieldVar> acceptFields = new HashMap<String, JFieldVar>();
 
 	public RestHolder(ProcessHolder processHolder, TypeElement annotatedElement) throws Exception {
 		super(processHolder, annotatedElement);
@@ -116,7 +127,7 @@ public class RestHolder extends BaseGeneratedClassHolder {
 	}
 
 	private void implementSetRootUrl(List<ExecutableElement> methods) {
-		JMethod setRootUrlMethod = codeModelHelper.implementMethod(this, methods, "setRootUrl", TypeKind.VOID.toString(), STRING);
+		setRootUrlMethod = codeModelHelper.implementMethod(this, methods, "setRootUrl", TypeKind.VOID.toString(), STRING);
 
 		if (setRootUrlMethod != null) {
 			setRootUrlMethod.body().assign(_this().ref(getRootUrlField()), setRootUrlMethod.params().get(0));
@@ -295,4 +306,91 @@ public class RestHolder extends BaseGeneratedClassHolder {
 		restErrorHandlerField = getGeneratedClass().field(JMod.PRIVATE, restErrorHandlerClass, "restErrorHandler");
 	}
 
+
+	/**
+	 * @return a field holding the root url followed by the given suffix, so
+	 *         that the url is built when the root url is set instead of on
+	 *         each call
+	 */
+	public JFieldVar getUrlField(String urlSuffix) {
+		JFieldVar urlField = urlFields.get(urlSuffix);
+		if (urlField == null) {
+			urlField = getGeneratedClass().field(JMod.PRIVATE, classes().STRING, urlFieldName(urlSuffix));
+			getInit().body().assign(urlField, getRootUrlField().invoke("concat").arg(lit(urlSuffix)));
+			if (setRootUrlMethod != null) {
+				setRootUrlMethod.body().assign(_this().ref(urlField), _this().ref(getRootUrlField()).invoke("concat").arg(lit(urlSuffix)));
+			}
+			urlFields.put(urlSuffix, urlField);
+		}
+		return urlField;
+	}
+
+	/**
+	 * @return a constant holding the immutable list of accepted media types
+	 *         sent by the methods annotated with the given @Accept value
+	 */
+	public JFieldVar getAcceptField(String mediaType) {
+		JFieldVar acceptField = acceptFields.get(mediaType);
+		if (acceptField == null) {
+			JClass mediaTypeClass = refClass(CanonicalNameConstants.MEDIA_TYPE);
+			JClass collectionsClass = refClass(CanonicalNameConstants.COLLECTIONS);
+			JInvocation acceptList = collectionsClass.staticInvoke("singletonList").arg(mediaTypeClass.staticInvoke("parseMediaType").arg(mediaType));
+
+			String fieldName = uniqueFieldName("ACCEPT_" + mediaType.toUpperCase(Locale.ENGLISH).replaceAll("[^A-Z0-9]+", "_"));
+			acceptField = getGeneratedClass().field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, classes().LIST.narrow(mediaTypeClass), fieldName, acceptList);
+			acceptFields.put(mediaType, acceptField);
+		}
+		return acceptField;
+	}
+
+	/**
+	 * Names the url field after its suffix only, so that the name does not
+	 * depend on the order in which the methods sharing it are processed:
+	 * "/events/{year}" gives "eventsYearUrl". When several suffixes give the
+	 * same name, such as "/a-b" and "/a/b", all their fields are suffixed with
+	 * the hash of their url suffix.
+	 */
+	private String urlFieldName(String urlSuffix) {
+		StringBuilder name = new StringBuilder();
+		for (String word : urlSuffix.split("[^A-Za-z0-9]+")) {
+			if (word.length() > 0) {
+				if (name.length() == 0) {
+					name.append(Character.toLowerCase(word.charAt(0)));
+				} else {
+					name.append(Character.toUpperCase(word.charAt(0)));
+				}
+				name.append(word.substring(1));
+			}
+		}
+		if (name.length() == 0 || Character.isDigit(name.charAt(0))) {
+			name.insert(0, "url");
+		}
+		name.append("Url");
+
+		String baseName = name.toString();
+		if (!urlSuffixesByBaseName.containsKey(baseName)) {
+			urlSuffixesByBaseName.put(baseName, urlSuffix);
+			return uniqueFieldName(baseName);
+		}
+
+		String firstUrlSuffix = urlSuffixesByBaseName.put(baseName, null);
+		if (firstUrlSuffix != null) {
+			JFieldVar firstUrlField = urlFields.get(firstUrlSuffix);
+			firstUrlField.name(uniqueFieldName(hashedUrlFieldName(baseName, firstUrlSuffix)));
+		}
+		return uniqueFieldName(hashedUrlFieldName(baseName, urlSuffix));
+	}
+
+	private String hashedUrlFieldName(String baseName, String urlSuffix) {
+		return baseName + "_" + Integer.toHexString(urlSuffix.hashCode());
+	}
+
+	private String uniqueFieldName(String name) {
+		String uniqueName = name;
+		for (int i = 2; getGeneratedClass().fields().containsKey(uniqueName); i++) {
+			uniqueName = name + i;
+		}
+		return uniqueName;
+	}
+
 }
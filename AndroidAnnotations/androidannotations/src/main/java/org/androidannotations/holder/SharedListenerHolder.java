@@ -0,0 +1,115 @@
+/**
+ * Copyright (C) 2010-2014 eBusiness Information, Excilys Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.holder;
+
+import static com.sun.codemodel.JMod.FINAL;
+import static com.sun.codemodel.JMod.PRIVATE;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import javax.lang.model.element.TypeElement;
+
+import org.androidannotations.helper.CaseHelper;
+
+import com.sun.codemodel.JBlock;
+import com.sun.codemodel.JCase;
+import com.sun.codemodel.JClass;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JExpr;
+import com.sun.codemodel.JFieldRef;
+import com.sun.codemodel.JFieldVar;
+import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JSwitch;
+
+/**
+ * A single listener instance shared by all the views a component binds with
+ * the same listener type. Its listener method switches on the id of the view
+ * it receives to call the right annotated method.
+ */
+public class SharedListenerHolder {
+
+	private EComponentWithViewSupportHolder holder;
+	private JMethod listenerMethod;
+	private JFieldVar listenerField;
+	private JSwitch idSwitch;
+	private Map<String, JCase> casesById = new HashMap<String, JCase>();
+	private Map<String, TypeElement> declaringTypesById = new HashMap<String, TypeElement>();
+
+	public SharedListenerHolder(EComponentWithViewSupportHolder holder, JClass listenerClass, JDefinedClass listenerAnonymousClass, JMethod listenerMethod) {
+		this.holder = holder;
+		this.listenerMethod = listenerMethod;
+		String fieldName = CaseHelper.lowerCaseFirst(listenerClass.name()) + "_";
+		listenerField = holder.getGeneratedClass().field(PRIVATE | FINAL, listenerClass, fieldName, JExpr._new(listenerAnonymousClass));
+	}
+
+	public JMethod getListenerMethod() {
+		return listenerMethod;
+	}
+
+	public JFieldVar getListenerField() {
+		return listenerField;
+	}
+
+	/**
+	 * The switch is created on the first call, so the view parameter must be
+	 * the first parameter of the listener method and already be declared.
+	 */
+	public JSwitch getIdSwitch() {
+		if (idSwitch == null) {
+			setIdSwitch();
+		}
+		return idSwitch;
+	}
+
+	/**
+	 * @return the type declaring the method already called for the given id,
+	 *         or null if there is none yet
+	 */
+	public TypeElement getCaseDeclaringType(JFieldRef idRef) {
+		return declaringTypesById.get(holder.codeModelHelper.getIdStringFromIdFieldRef(idRef));
+	}
+
+	/**
+	 * Adds the case of the given id to the switch, replacing the case already
+	 * added for this id, so that a method overridden by a subclass method
+	 * with the same id is not called.
+	 */
+	public JBlock setCase(JFieldRef idRef, TypeElement declaringType) {
+		String id = holder.codeModelHelper.getIdStringFromIdFieldRef(idRef);
+		JCase previousCase = casesById.get(id);
+		if (previousCase != null) {
+			Iterator<JCase> cases = getIdSwitch().cases();
+			while (cases.hasNext()) {
+				if (cases.next() == previousCase) {
+					cases.remove();
+				}
+			}
+		}
+		JCase idCase = getIdSwitch()._case(idRef);
+		casesById.put(id, idCase);
+		declaringTypesById.put(id, declaringType);
+		return idCase.body();
+	}
+
+	private void setIdSwitch() {
+		idSwitch = listenerMethod.body()._switch(listenerMethod.params().get(0).invoke("getId"));
+		if (listenerMethod.type() == holder.codeModel().BOOLEAN) {
+			listenerMethod.body()._return(JExpr.FALSE);
+		}
+	}
+}
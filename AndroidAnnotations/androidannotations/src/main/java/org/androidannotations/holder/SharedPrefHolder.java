@@ -17,15 +17,18 @@ package org.androidannotations.holder;
 
 import com.sun.codemodel.*;
 import static com.sun.codemodel.JMod.FINAL;
+import static com.sun.codemodel.JMod.PRIVATE;
 import static com.sun.codemodel.JMod.PUBLIC;
 import static com.sun.codemodel.JMod.STATIC;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.TypeElement;
 
+import org.androidannotations.annotations.sharedpreferences.SharedPref;
 import org.androidannotations.api.sharedpreferences.BooleanPrefEditorField;
 import org.androidannotations.api.sharedpreferences.EditorHelper;
 import org.androidannotations.api.sharedpreferences.FloatPrefEditorField;
@@ -105,7 +108,19 @@ public class SharedPrefHolder extends BaseGeneratedClassHolder {
 
 	public void createFieldMethod(Class<?> prefFieldHelperClass, JExpression keyExpression, String fieldName, String fieldHelperMethodName, JExpression defaultValue) {
 		JMethod fieldMethod = generatedClass.method(PUBLIC, prefFieldHelperClass, fieldName);
-		fieldMethod.body()._return(JExpr.invoke(fieldHelperMethodName).arg(keyExpression).arg(defaultValue));
+		JInvocation createField = JExpr.invoke(fieldHelperMethodName).arg(keyExpression).arg(defaultValue);
+
+		if (annotatedElement.getAnnotation(SharedPref.class).cache()) {
+			/*
+			 * The field keeps the cached value, so it is created once, after
+			 * the context which may be needed by the key is set
+			 */
+			JFieldVar prefField = generatedClass.field(PRIVATE | FINAL, prefFieldHelperClass, fieldName + "Field" + ModelConstants.GENERATION_SUFFIX);
+			getConstructor().body().assign(prefField, createField);
+			fieldMethod.body()._return(prefField);
+		} else {
+			fieldMethod.body()._return(createField);
+		}
 	}
 
 	public void createEditorFieldMethods(ExecutableElement method, JExpression keyExpression) {
@@ -117,6 +132,46 @@ public class SharedPrefHolder extends BaseGeneratedClassHolder {
 		editorFieldMethod.body()._return(JExpr.invoke(editorFieldHolder.fieldMethodName).arg(keyExpression));
 	}
 
+	/**
+	 * Overrides the method of the helper and of the editor applying the
+	 * editors with a direct call to <code>Editor.apply()</code> instead of the
+	 * reflection of the compat path.
+	 */
+	public void createDirectApplyMethods() {
+		JClass editorClass = processHolder.refClass("android.content.SharedPreferences.Editor");
+		for (JDefinedClass definedClass : new JDefinedClass[] { generatedClass, this.editorClass }) {
+			JMethod applyMethod = definedClass.method(JMod.PROTECTED, codeModel().VOID, "apply");
+			applyMethod.annotate(Override.class);
+			JVar editorParam = applyMethod.param(editorClass, "editor");
+			applyMethod.body().invoke(editorParam, "apply");
+		}
+	}
+
+	/**
+	 * Overrides the methods of the helper and of the editor reading and
+	 * writing the string sets with direct calls instead of the reflection of
+	 * the compat path.
+	 */
+	public void createDirectStringSetMethods() {
+		JClass editorClass = processHolder.refClass("android.content.SharedPreferences.Editor");
+		JClass stringSetClass = processHolder.refClass(Set.class).narrow(classes().STRING);
+
+		JMethod getStringSetMethod = generatedClass.method(JMod.PROTECTED, stringSetClass, "getStringSet");
+		getStringSetMethod.annotate(Override.class);
+		JVar keyParam = getStringSetMethod.param(classes().STRING, "key");
+		JVar defValuesParam = getStringSetMethod.param(stringSetClass, "defValues");
+		getStringSetMethod.body()._return(JExpr.invoke("getSharedPreferences").invoke("getStringSet").arg(keyParam).arg(defValuesParam));
+
+		for (JDefinedClass definedClass : new JDefinedClass[] { generatedClass, this.editorClass }) {
+			JMethod putStringSetMethod = definedClass.method(JMod.PROTECTED, codeModel().VOID, "putStringSet");
+			putStringSetMethod.annotate(Override.class);
+			JVar editorParam = putStringSetMethod.param(editorClass, "editor");
+			keyParam = putStringSetMethod.param(classes().STRING, "key");
+			JVar valuesParam = putStringSetMethod.param(stringSetClass, "values");
+			putStringSetMethod.body().invoke(editorParam, "putStringSet").arg(keyParam).arg(valuesParam);
+		}
+	}
+
 	public JBlock getConstructorSuperBlock() {
 		if (constructorSuperBlock == null) {
 			setConstructor();
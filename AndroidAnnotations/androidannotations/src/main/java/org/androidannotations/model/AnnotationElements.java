@@ -38,4 +38,6 @@ public interface AnnotationElements {
 
 	Set<AnnotatedAndRootElements> getAncestorAnnotatedElements(String annotationName);
 
+	UniqueIdIndex getUniqueIdIndex(String annotationName);
+
 }
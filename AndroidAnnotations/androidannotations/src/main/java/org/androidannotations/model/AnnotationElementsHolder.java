@@ -28,6 +28,7 @@ public class AnnotationElementsHolder implements AnnotationElements {
 
 	private final Map<String, Set<? extends Element>> rootAnnotatedElementsByAnnotation = new HashMap<String, Set<? extends Element>>();
 	private final Map<String, Set<AnnotatedAndRootElements>> ancestorAnnotatedElementsByAnnotation = new HashMap<String, Set<AnnotatedAndRootElements>>();
+	private final Map<String, UniqueIdIndex> uniqueIdIndexesByAnnotation = new HashMap<String, UniqueIdIndex>();
 
 	public void putRootAnnotatedElements(String annotationName, Set<? extends Element> annotatedElements) {
 		rootAnnotatedElementsByAnnotation.put(annotationName, annotatedElements);
@@ -62,6 +63,27 @@ public class AnnotationElementsHolder implements AnnotationElements {
 		}
 	}
 
+	/**
+	 * Called once the given element is validated, so that the ids it uses are
+	 * indexed.
+	 */
+	public void elementValidated(String annotationName, Element element) {
+		UniqueIdIndex index = uniqueIdIndexesByAnnotation.get(annotationName);
+		if (index != null) {
+			index.elementValidated(element);
+		}
+	}
+
+	@Override
+	public UniqueIdIndex getUniqueIdIndex(String annotationName) {
+		UniqueIdIndex index = uniqueIdIndexesByAnnotation.get(annotationName);
+		if (index == null) {
+			index = new UniqueIdIndex();
+			uniqueIdIndexesByAnnotation.put(annotationName, index);
+		}
+		return index;
+	}
+
 	@Override
 	public Set<Element> getAllElements() {
 		Set<Element> allElements = new HashSet<Element>();
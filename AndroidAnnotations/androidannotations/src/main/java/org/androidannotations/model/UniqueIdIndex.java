@@ -0,0 +1,72 @@
+/**
+ * Copyright (C) 2010-2014 eBusiness Information, Excilys Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.model;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.lang.model.element.Element;
+
+/**
+ * Indexes the ids used by the validated elements of one annotation, by
+ * enclosing type, so that checking that an id is unique does not scan all the
+ * other elements.
+ * <p>
+ * The ids of an element are registered as pending while it is validated, and
+ * only indexed once the {@link org.androidannotations.process.ModelValidator}
+ * reports that the element is valid.
+ */
+public class UniqueIdIndex {
+
+	private final Map<Element, Map<String, Element>> elementsByIdByEnclosingElement = new HashMap<Element, Map<String, Element>>();
+	private Element pendingElement;
+	private List<String> pendingIds;
+
+	/**
+	 * Indexes the ids of the given element if they are pending.
+	 */
+	public void elementValidated(Element element) {
+		if (element.equals(pendingElement)) {
+			Map<String, Element> elementsById = elementsByIdByEnclosingElement.get(pendingElement.getEnclosingElement());
+			if (elementsById == null) {
+				elementsById = new HashMap<String, Element>();
+				elementsByIdByEnclosingElement.put(pendingElement.getEnclosingElement(), elementsById);
+			}
+			for (String id : pendingIds) {
+				if (!elementsById.containsKey(id)) {
+					elementsById.put(id, pendingElement);
+				}
+			}
+		}
+		pendingElement = null;
+		pendingIds = null;
+	}
+
+	public void setPending(Element element, List<String> ids) {
+		pendingElement = element;
+		pendingIds = ids;
+	}
+
+	/**
+	 * @return the first validated element of the given type using the given
+	 *         id, or <b>null</b> if there is none
+	 */
+	public Element get(Element enclosingElement, String id) {
+		Map<String, Element> elementsById = elementsByIdByEnclosingElement.get(enclosingElement);
+		return elementsById != null ? elementsById.get(id) : null;
+	}
+}
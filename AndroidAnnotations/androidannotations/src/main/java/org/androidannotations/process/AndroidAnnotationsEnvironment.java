@@ -0,0 +1,83 @@
+/**
+ * Copyright (C) 2010-2014 eBusiness Information, Excilys Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.process;
+
+import java.util.Locale;
+import java.util.Map;
+
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+
+import org.androidannotations.helper.AnnotationParameterCache;
+
+/**
+ * The processing environment given to the handlers and helpers, which also
+ * carries the state the processor shares with them, such as the
+ * {@link AnnotationParameterCache} of the current round.
+ */
+public class AndroidAnnotationsEnvironment implements ProcessingEnvironment {
+
+	private final ProcessingEnvironment processingEnv;
+	private final AnnotationParameterCache annotationParameterCache = new AnnotationParameterCache();
+
+	public AndroidAnnotationsEnvironment(ProcessingEnvironment processingEnv) {
+		this.processingEnv = processingEnv;
+	}
+
+	public AnnotationParameterCache getAnnotationParameterCache() {
+		return annotationParameterCache;
+	}
+
+	@Override
+	public Map<String, String> getOptions() {
+		return processingEnv.getOptions();
+	}
+
+	@Override
+	public Messager getMessager() {
+		return processingEnv.getMessager();
+	}
+
+	@Override
+	public Filer getFiler() {
+		return processingEnv.getFiler();
+	}
+
+	@Override
+	public Elements getElementUtils() {
+		return processingEnv.getElementUtils();
+	}
+
+	@Override
+	public Types getTypeUtils() {
+		return processingEnv.getTypeUtils();
+	}
+
+	@Override
+	public SourceVersion getSourceVersion() {
+		return processingEnv.getSourceVersion();
+	}
+
+	@Override
+	public Locale getLocale() {
+		return processingEnv.getLocale();
+	}
+
+}
@@ -0,0 +1,189 @@
+/**
+ * Copyright (C) 2010-2014 eBusiness Information, Excilys Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.process;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * On-disk index of what was generated for each root element during the
+ * previous builds. Each entry records the fingerprint of the root element
+ * inputs, the annotations seen on it, its originating elements and the hash
+ * of each generated source file.
+ */
+public class GenerationIndex {
+
+	public static class Entry {
+
+		public final String rootElement;
+		public final String inputHash;
+		public final Set<String> annotations = new TreeSet<String>();
+		public final Set<String> originatingElements = new TreeSet<String>();
+		public final Map<String, String> outputHashesByClassName = new TreeMap<String, String>();
+
+		public Entry(String rootElement, String inputHash) {
+			this.rootElement = rootElement;
+			this.inputHash = inputHash;
+		}
+	}
+
+	private static final String HEADER = "# AndroidAnnotations generation index, do not edit";
+	private static final String SEPARATOR = "\t";
+	private static final String ENVIRONMENT = "environment";
+	private static final String ROOT = "root";
+	private static final String ANNOTATION = "annotation";
+	private static final String ORIGINATING = "originating";
+	private static final String OUTPUT = "output";
+	private static final String RESOURCES = "resources";
+	private static final String CHARSET = "UTF-8";
+
+	private final Map<String, Entry> entriesByRootElement = new TreeMap<String, Entry>();
+	private final Map<String, String> resourceHashesByInnerClass = new TreeMap<String, String>();
+	private String environmentHash = "";
+
+	public static GenerationIndex load(File file) throws IOException {
+		GenerationIndex index = new GenerationIndex();
+		if (!file.isFile()) {
+			return index;
+		}
+
+		BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), CHARSET));
+		try {
+			Entry entry = null;
+			String line;
+			while ((line = reader.readLine()) != null) {
+				String[] values = line.split(SEPARATOR);
+				String kind = values[0];
+				if (ENVIRONMENT.equals(kind) && values.length == 2) {
+					index.environmentHash = values[1];
+				} else if (RESOURCES.equals(kind) && values.length == 3) {
+					index.resourceHashesByInnerClass.put(values[1], values[2]);
+				} else if (ROOT.equals(kind) && values.length == 3) {
+					entry = new Entry(values[1], values[2]);
+					index.put(entry);
+				} else if (entry != null && ANNOTATION.equals(kind) && values.length == 2) {
+					entry.annotations.add(values[1]);
+				} else if (entry != null && ORIGINATING.equals(kind) && values.length == 2) {
+					entry.originatingElements.add(values[1]);
+				} else if (entry != null && OUTPUT.equals(kind) && values.length == 3) {
+					entry.outputHashesByClassName.put(values[1], values[2]);
+				}
+			}
+		} finally {
+			reader.close();
+		}
+		return index;
+	}
+
+	public void save(File file) throws IOException {
+		Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), CHARSET));
+		try {
+			writer.write(HEADER);
+			writeLine(writer, ENVIRONMENT, environmentHash);
+			for (Map.Entry<String, String> resourceHash : resourceHashesByInnerClass.entrySet()) {
+				writeLine(writer, RESOURCES, resourceHash.getKey(), resourceHash.getValue());
+			}
+			for (Entry entry : entriesByRootElement.values()) {
+				writeLine(writer, ROOT, entry.rootElement, entry.inputHash);
+				for (String annotation : entry.annotations) {
+					writeLine(writer, ANNOTATION, annotation);
+				}
+				for (String originatingElement : entry.originatingElements) {
+					writeLine(writer, ORIGINATING, originatingElement);
+				}
+				for (Map.Entry<String, String> output : entry.outputHashesByClassName.entrySet()) {
+					writeLine(writer, OUTPUT, output.getKey(), output.getValue());
+				}
+			}
+			writer.write('\n');
+		} finally {
+			writer.close();
+		}
+	}
+
+	private void writeLine(Writer writer, String... values) throws IOException {
+		writer.write('\n');
+		for (int i = 0; i < values.length; i++) {
+			if (i > 0) {
+				writer.write(SEPARATOR);
+			}
+			writer.write(values[i]);
+		}
+	}
+
+	public Entry get(String rootElement) {
+		return entriesByRootElement.get(rootElement);
+	}
+
+	public void put(Entry entry) {
+		entriesByRootElement.put(entry.rootElement, entry);
+	}
+
+	/**
+	 * Drops the entries of the root elements that are not in the given set.
+	 */
+	public void retainRootElements(Set<String> rootElements) {
+		entriesByRootElement.keySet().retainAll(rootElements);
+	}
+
+	public String getEnvironmentHash() {
+		return environmentHash;
+	}
+
+	/**
+	 * Entries are only meaningful for a given processor version, set of
+	 * options and manifest. When any of them changes, the index is reset.
+	 */
+	public void setEnvironmentHash(String environmentHash) {
+		if (!environmentHash.equals(this.environmentHash)) {
+			entriesByRootElement.clear();
+			this.environmentHash = environmentHash;
+		}
+	}
+
+	/**
+	 * Generated code refers to resources by name, but javac inlines their
+	 * values, so entries also depend on the R inner classes. Only the hashes of
+	 * the inner classes read during this build are given: the ones recorded
+	 * for the others are kept. When one of the given hashes is new or
+	 * different, the index is reset.
+	 */
+	public void updateResourceHashes(Map<String, String> resourceHashesByInnerClass) {
+		for (Map.Entry<String, String> resourceHash : resourceHashesByInnerClass.entrySet()) {
+			if (!resourceHash.getValue().equals(this.resourceHashesByInnerClass.get(resourceHash.getKey()))) {
+				entriesByRootElement.clear();
+				break;
+			}
+		}
+		this.resourceHashesByInnerClass.putAll(resourceHashesByInnerClass);
+	}
+
+	public int size() {
+		return entriesByRootElement.size();
+	}
+
+}
@@ -0,0 +1,238 @@
+/**
+ * Copyright (C) 2010-2014 eBusiness Information, Excilys Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.process;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.Elements;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+import org.androidannotations.helper.FileHelper;
+import org.androidannotations.helper.FingerprintHelper;
+import org.androidannotations.logger.Logger;
+import org.androidannotations.logger.LoggerFactory;
+import org.androidannotations.model.AnnotationElements;
+import org.androidannotations.model.AnnotationElements.AnnotatedAndRootElements;
+import org.androidannotations.model.AnnotationElementsHolder;
+
+/**
+ * Skips processing and source generation for root elements that did not
+ * change since the previous build and whose generated classes are still
+ * compiled, using a {@link GenerationIndex} persisted
+ * next to the log file.
+ * <p>
+ * Validation still runs on the whole model, and handlers are still given the
+ * whole validated model, because they look up other root elements (e.g.
+ * shared preferences) in it.
+ */
+public class IncrementalProcessing {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(IncrementalProcessing.class);
+
+	private static final String INDEX_FILENAME = "androidannotations.index";
+
+	private final Filer filer;
+	private final Elements elementUtils;
+	private final File indexFile;
+	private final GenerationIndex index;
+	private final FingerprintHelper fingerprintHelper;
+	private final Map<String, String> inputHashesByRootElement = new HashMap<String, String>();
+	private final Set<String> rootElementsOfThisBuild = new HashSet<String>();
+
+	public IncrementalProcessing(ProcessingEnvironment processingEnv) {
+		filer = processingEnv.getFiler();
+		elementUtils = processingEnv.getElementUtils();
+		fingerprintHelper = new FingerprintHelper(elementUtils);
+
+		File outputDirectory = FileHelper.resolveOutputDirectory(processingEnv);
+		indexFile = outputDirectory != null ? new File(outputDirectory, INDEX_FILENAME) : null;
+
+		GenerationIndex loadedIndex = new GenerationIndex();
+		if (indexFile == null) {
+			LOGGER.warn("Can't resolve the generation index file, every element will be processed");
+		} else {
+			try {
+				loadedIndex = GenerationIndex.load(indexFile);
+				LOGGER.info("Generation index loaded from {} with {} entries", indexFile, loadedIndex.size());
+			} catch (IOException e) {
+				LOGGER.warn("Can't read the generation index {}, every element will be processed", indexFile);
+			}
+		}
+		index = loadedIndex;
+	}
+
+	/**
+	 * Returns a model containing only the elements whose root type, or a type
+	 * it depends on, changed since the previous build, or whose generated
+	 * classes are missing. Every element is returned when the environment or
+	 * one of the given R inner classes changed.
+	 */
+	public AnnotationElements filterUpToDateElements(AnnotationElements validatedModel, Set<String> annotationNames, String environmentHash, Map<String, String> resourceHashesByInnerClass) {
+		index.setEnvironmentHash(environmentHash);
+		index.updateResourceHashes(resourceHashesByInnerClass);
+		inputHashesByRootElement.clear();
+
+		Set<TypeElement> rootTypeElements = new HashSet<TypeElement>();
+		for (Element element : validatedModel.getAllElements()) {
+			rootTypeElements.add(topLevelType(element));
+		}
+
+		Set<TypeElement> upToDateRootElements = new HashSet<TypeElement>();
+		for (TypeElement rootTypeElement : rootTypeElements) {
+			String rootElementName = rootTypeElement.getQualifiedName().toString();
+			String inputHash = fingerprintHelper.fingerprintWithDependencies(rootTypeElement);
+			inputHashesByRootElement.put(rootElementName, inputHash);
+			rootElementsOfThisBuild.add(rootElementName);
+
+			GenerationIndex.Entry entry = index.get(rootElementName);
+			if (entry != null && entry.inputHash.equals(inputHash) && generatedClassesExist(entry)) {
+				upToDateRootElements.add(rootTypeElement);
+			}
+		}
+
+		LOGGER.info("{} root elements up to date, {} to process", upToDateRootElements.size(), rootTypeElements.size() - upToDateRootElements.size());
+
+		if (upToDateRootElements.isEmpty()) {
+			return validatedModel;
+		}
+
+		AnnotationElementsHolder filteredModel = new AnnotationElementsHolder();
+		for (String annotationName : annotationNames) {
+			Set<Element> rootAnnotatedElements = new HashSet<Element>();
+			for (Element element : validatedModel.getRootAnnotatedElements(annotationName)) {
+				if (!upToDateRootElements.contains(topLevelType(element))) {
+					rootAnnotatedElements.add(element);
+				}
+			}
+			filteredModel.putRootAnnotatedElements(annotationName, rootAnnotatedElements);
+
+			for (AnnotatedAndRootElements elements : validatedModel.getAncestorAnnotatedElements(annotationName)) {
+				if (!upToDateRootElements.contains(topLevelType(elements.rootTypeElement))) {
+					filteredModel.putAncestorAnnotatedElement(annotationName, elements.annotatedElement, elements.rootTypeElement);
+				}
+			}
+		}
+		return filteredModel;
+	}
+
+	/**
+	 * Records the inputs and outputs of the root elements processed in this
+	 * round, and forgets the root elements that no round of this build
+	 * validated, such as deleted classes or classes whose annotations were
+	 * removed.
+	 */
+	public void record(AnnotationElements processedModel, Set<String> annotationNames, OriginatingElements originatingElements, Map<String, String> sourceHashesByClassName) {
+		Map<String, GenerationIndex.Entry> entries = new HashMap<String, GenerationIndex.Entry>();
+
+		for (String annotationName : annotationNames) {
+			for (Element element : processedModel.getRootAnnotatedElements(annotationName)) {
+				GenerationIndex.Entry entry = getOrCreateEntry(entries, topLevelType(element));
+				if (entry != null) {
+					entry.annotations.add(annotationName);
+				}
+			}
+		}
+
+		for (Map.Entry<String, String> sourceHash : sourceHashesByClassName.entrySet()) {
+			String className = sourceHash.getKey();
+			for (Element originatingElement : originatingElements.getClassOriginatingElements(className)) {
+				GenerationIndex.Entry entry = entries.get(topLevelType(originatingElement).getQualifiedName().toString());
+				if (entry != null) {
+					entry.originatingElements.add(originatingElement.toString());
+					entry.outputHashesByClassName.put(className, sourceHash.getValue());
+				}
+			}
+		}
+
+		for (GenerationIndex.Entry entry : entries.values()) {
+			index.put(entry);
+		}
+		index.retainRootElements(rootElementsOfThisBuild);
+	}
+
+	private GenerationIndex.Entry getOrCreateEntry(Map<String, GenerationIndex.Entry> entries, TypeElement rootTypeElement) {
+		String rootElementName = rootTypeElement.getQualifiedName().toString();
+		GenerationIndex.Entry entry = entries.get(rootElementName);
+		if (entry == null) {
+			String inputHash = inputHashesByRootElement.get(rootElementName);
+			if (inputHash == null) {
+				return null;
+			}
+			entry = new GenerationIndex.Entry(rootElementName, inputHash);
+			entries.put(rootElementName, entry);
+		}
+		return entry;
+	}
+
+	public void save() {
+		if (indexFile == null) {
+			return;
+		}
+		try {
+			index.save(indexFile);
+		} catch (IOException e) {
+			LOGGER.warn("Can't write the generation index {}", indexFile);
+		}
+	}
+
+	/**
+	 * A generated class can only be skipped if it has been compiled by a
+	 * previous build and is visible to the current compilation.
+	 */
+	private boolean generatedClassesExist(GenerationIndex.Entry entry) {
+		for (String className : entry.outputHashesByClassName.keySet()) {
+			if (!classFileExists(className) || elementUtils.getTypeElement(className) == null) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean classFileExists(String qualifiedClassName) {
+		int packageSeparator = qualifiedClassName.lastIndexOf('.');
+		String packageName = packageSeparator == -1 ? "" : qualifiedClassName.substring(0, packageSeparator);
+		String classFileName = qualifiedClassName.substring(packageSeparator + 1) + ".class";
+		try {
+			FileObject classFile = filer.getResource(StandardLocation.CLASS_OUTPUT, packageName, classFileName);
+			InputStream inputStream = classFile.openInputStream();
+			inputStream.close();
+			return true;
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	private TypeElement topLevelType(Element element) {
+		Element topLevelElement = element;
+		while (!(topLevelElement.getEnclosingElement() instanceof PackageElement)) {
+			topLevelElement = topLevelElement.getEnclosingElement();
+		}
+		return (TypeElement) topLevelElement;
+	}
+
+}
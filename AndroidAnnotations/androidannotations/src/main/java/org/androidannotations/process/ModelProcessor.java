@@ -54,10 +54,16 @@ public class ModelProcessor {
 
 	private final ProcessingEnvironment processingEnv;
 	private final AnnotationHandlers annotationHandlers;
+	private final TimeStats timeStats;
 
 	public ModelProcessor(ProcessingEnvironment processingEnv, AnnotationHandlers annotationHandlers) {
+		this(processingEnv, annotationHandlers, new TimeStats());
+	}
+
+	public ModelProcessor(ProcessingEnvironment processingEnv, AnnotationHandlers annotationHandlers, TimeStats timeStats) {
 		this.processingEnv = processingEnv;
 		this.annotationHandlers = annotationHandlers;
+		this.timeStats = timeStats;
 	}
 
 	@SuppressWarnings({ "unchecked", "rawtypes" })
@@ -132,11 +138,20 @@ public class ModelProcessor {
 	}
 
 	private <T extends GeneratedClassHolder> void processThrowing(AnnotationHandler<T> handler, Element element, T generatedClassHolder) throws ProcessingException {
+		long start = System.nanoTime();
 		try {
 			handler.process(element, generatedClassHolder);
 		} catch (Exception e) {
 			throw new ProcessingException(e, element);
 		}
+		recordProcessing(handler, generatedClassHolder, start);
+	}
+
+	private void recordProcessing(AnnotationHandler<?> handler, GeneratedClassHolder generatedClassHolder, long start) {
+		if (timeStats.isProfiling()) {
+			timeStats.record(TimeStats.PROCESS, handler.getClass().getSimpleName(), start);
+			timeStats.recordElement(generatedClassHolder.getAnnotatedElement(), start);
+		}
 	}
 
 	private boolean isAbstractClass(Element annotatedElement) {
@@ -174,9 +189,11 @@ public class ModelProcessor {
 						if (typeElement.getNestingKind() == NestingKind.MEMBER && processHolder.getGeneratedClassHolder(enclosingElement) == null) {
 							isElementRemaining = true;
 						} else {
+							long start = System.nanoTime();
 							GeneratedClassHolder generatedClassHolder = generatingAnnotationHandler.createGeneratedClassHolder(processHolder, typeElement);
 							processHolder.put(annotatedElement, generatedClassHolder);
 							generatingAnnotationHandler.process(annotatedElement, generatedClassHolder);
+							recordProcessing(generatingAnnotationHandler, generatedClassHolder, start);
 						}
 					}
 				}  else {
@@ -32,9 +32,15 @@ public class ModelValidator {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(ModelValidator.class);
 	private AnnotationHandlers annotationHandlers;
+	private final TimeStats timeStats;
 
 	public ModelValidator(AnnotationHandlers annotationHandlers) {
+		this(annotationHandlers, new TimeStats());
+	}
+
+	public ModelValidator(AnnotationHandlers annotationHandlers, TimeStats timeStats) {
 		this.annotationHandlers = annotationHandlers;
+		this.timeStats = timeStats;
 	}
 
 	public AnnotationElements validate(AnnotationElementsHolder extractedModel) throws ProcessingException, Exception {
@@ -63,8 +69,16 @@ public class ModelValidator {
 			}
 
 			for (Element annotatedElement : annotatedElements) {
-				if (validateThrowing(annotationHandler, annotatedElement, validatedElements)) {
+				long start = System.nanoTime();
+				boolean valid = validateThrowing(annotationHandler, annotatedElement, validatedElements);
+				if (timeStats.isProfiling()) {
+					timeStats.record(TimeStats.VALIDATE, validatorSimpleName, start);
+					timeStats.recordElement(annotatedElement, start);
+				}
+
+				if (valid) {
 					validatedAnnotatedElements.add(annotatedElement);
+					validatedElements.elementValidated(annotationName, annotatedElement);
 				} else {
 					LOGGER.warn("Element {} unvalidated by {}", annotatedElement, validatorSimpleName);
 				}
@@ -111,8 +111,13 @@ public class ProcessHolder {
 		public final JClass HANDLER = refClass(CanonicalNameConstants.HANDLER);
 		public final JClass KEY_STORE = refClass(CanonicalNameConstants.KEY_STORE);
 		public final JClass VIEW_SERVER = refClass(CanonicalNameConstants.VIEW_SERVER);
+		public final JClass LAZY_VIEW = refClass(CanonicalNameConstants.LAZY_VIEW);
+		public final JClass VIEW_INDEX = refClass(CanonicalNameConstants.VIEW_INDEX);
+		public final JClass SPARSE_ARRAY = refClass(CanonicalNameConstants.SPARSE_ARRAY);
+		public final JClass RECYCLABLE_VIEW = refClass(CanonicalNameConstants.RECYCLABLE_VIEW);
 		public final JClass PARCELABLE = refClass(CanonicalNameConstants.PARCELABLE);
 		public final JClass LOOPER = refClass(CanonicalNameConstants.LOOPER);
+		public final JClass SYSTEM_CLOCK = refClass(CanonicalNameConstants.SYSTEM_CLOCK);
 		public final JClass POWER_MANAGER = refClass(CanonicalNameConstants.POWER_MANAGER);
 		public final JClass WAKE_LOCK = refClass(CanonicalNameConstants.WAKE_LOCK);
 
@@ -189,6 +194,8 @@ public class ProcessHolder {
 
 	private final Map<String, JClass> loadedClasses = new HashMap<String, JClass>();
 
+	private final Map<String, JClass> typeMirrorClasses = new HashMap<String, JClass>();
+
 	private final Classes classes;
 
 	private final Set<Class<?>> apiClassesToGenerate = new HashSet<Class<?>>();
@@ -254,6 +261,18 @@ public class ProcessHolder {
 		return refClass;
 	}
 
+	/**
+	 * Returns the {@link JClass} already built for a type, keyed by its
+	 * canonical form and type variable substitutions, or <code>null</code>.
+	 */
+	public JClass getTypeMirrorClass(String typeKey) {
+		return typeMirrorClasses.get(typeKey);
+	}
+
+	public void putTypeMirrorClass(String typeKey, JClass typeClass) {
+		typeMirrorClasses.put(typeKey, typeClass);
+	}
+
 	public JDefinedClass definedClass(String fullyQualifiedClassName) {
 		JDefinedClass refClass = (JDefinedClass) loadedClasses.get(fullyQualifiedClassName);
 		if (refClass == null) {
@@ -15,12 +15,22 @@
  */
 package org.androidannotations.process;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
+import javax.lang.model.element.Element;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+
 import org.androidannotations.logger.Logger;
 import org.androidannotations.logger.LoggerFactory;
 
@@ -28,36 +38,131 @@ public class TimeStats {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(TimeStats.class);
 
+	private static final long NANOS_PER_MILLI = 1000000L;
+
+	public static final String PHASE = "phase";
+	public static final String VALIDATE = "validate";
+	public static final String PROCESS = "process";
+	public static final String ELEMENT = "element";
+	public static final String COUNTER = "counter";
+
 	private final Map<String, Long> measures = new HashMap<String, Long>();
 	private final List<Duration> durations = new ArrayList<Duration>();
+	private final Map<String, Record> records = new LinkedHashMap<String, Record>();
+	private boolean profiling;
+	private int round;
 
 	private static class Duration implements Comparable<Duration> {
 		public final String key;
-		public final long durationInMs;
+		public final long durationInNs;
 
-		public Duration(String key, long durationInMs) {
+		public Duration(String key, long durationInNs) {
 			this.key = key;
-			this.durationInMs = durationInMs;
+			this.durationInNs = durationInNs;
 		}
 
 		@Override
 		public int compareTo(Duration o) {
-			return (int) (o.durationInMs - durationInMs);
+			return durationInNs < o.durationInNs ? 1 : durationInNs == o.durationInNs ? 0 : -1;
+		}
+	}
+
+	/**
+	 * Aggregated measure of one key during one round. For counters, count
+	 * holds the counted value and durationInNs is always 0.
+	 */
+	private static class Record {
+		public final int round;
+		public final String category;
+		public final String key;
+		public long count;
+		public long durationInNs;
+
+		public Record(int round, String category, String key) {
+			this.round = round;
+			this.category = category;
+			this.key = key;
 		}
 	}
 
+	/**
+	 * When profiling, handler and element measures are recorded in addition
+	 * to the phases, and kept across rounds for {@link #writeReport(File)}.
+	 */
+	public void setProfiling(boolean profiling) {
+		this.profiling = profiling;
+	}
+
+	public boolean isProfiling() {
+		return profiling;
+	}
+
 	public void start(String key) {
-		long start = System.currentTimeMillis();
+		long start = System.nanoTime();
 		measures.put(key, start);
 	}
 
 	public void stop(String key) {
 		Long start = measures.remove(key);
 		if (start != null) {
-			long end = System.currentTimeMillis();
+			long end = System.nanoTime();
 			long duration = end - start;
 			durations.add(new Duration(key, duration));
+			add(PHASE, key, duration);
+		}
+	}
+
+	/**
+	 * Adds the time elapsed since startInNs, as returned by
+	 * {@link System#nanoTime()}, to the given key.
+	 */
+	public void record(String category, String key, long startInNs) {
+		if (profiling) {
+			add(category, key, System.nanoTime() - startInNs);
+		}
+	}
+
+	/**
+	 * Element records are keyed by top-level type, so that the validation and
+	 * the processing of a root type, or of its nested types, add up in the
+	 * same row.
+	 */
+	public void recordElement(Element element, long startInNs) {
+		if (profiling) {
+			add(ELEMENT, topLevelType(element).getQualifiedName().toString(), System.nanoTime() - startInNs);
+		}
+	}
+
+	private TypeElement topLevelType(Element element) {
+		Element topLevelElement = element;
+		while (!(topLevelElement.getEnclosingElement() instanceof PackageElement)) {
+			topLevelElement = topLevelElement.getEnclosingElement();
+		}
+		return (TypeElement) topLevelElement;
+	}
+
+	public void count(String key, long value) {
+		if (profiling) {
+			getRecord(COUNTER, key).count += value;
+		}
+	}
+
+	private void add(String category, String key, long durationInNs) {
+		if (profiling) {
+			Record record = getRecord(category, key);
+			record.count++;
+			record.durationInNs += durationInNs;
+		}
+	}
+
+	private Record getRecord(String category, String key) {
+		String recordKey = round + "\n" + category + "\n" + key;
+		Record record = records.get(recordKey);
+		if (record == null) {
+			record = new Record(round, category, key);
+			records.put(recordKey, record);
 		}
+		return record;
 	}
 
 	@Override
@@ -70,7 +175,7 @@ public class TimeStats {
 			sb.append("[") //
 					.append(duration.key) //
 					.append(" = ") //
-					.append(duration.durationInMs) //
+					.append(duration.durationInNs / NANOS_PER_MILLI) //
 					.append(" ms], ");
 		}
 
@@ -81,9 +186,74 @@ public class TimeStats {
 		LOGGER.info(toString());
 	}
 
+	/**
+	 * Starts a new round. The durations logged by {@link #logStats()} are
+	 * reset, while profiling records are kept.
+	 */
 	public void clear() {
 		measures.clear();
 		durations.clear();
+		round++;
+	}
+
+	/**
+	 * Writes every profiling record since the processor was initialized, as
+	 * CSV if the file name ends with <code>.csv</code>, and as JSON otherwise.
+	 */
+	public void writeReport(File file) throws IOException {
+		Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+		try {
+			if (file.getName().endsWith(".csv")) {
+				writeCsv(writer);
+			} else {
+				writeJson(writer);
+			}
+		} finally {
+			writer.close();
+		}
+	}
+
+	private void writeCsv(Writer writer) throws IOException {
+		writer.write("round,category,key,count,durationInNs\n");
+		for (Record record : records.values()) {
+			writer.write(record.round + "," + record.category + "," + escapeCsv(record.key) + "," + record.count + "," + record.durationInNs + "\n");
+		}
+	}
+
+	private void writeJson(Writer writer) throws IOException {
+		writer.write("{\n  \"unit\": \"ns\",\n  \"records\": [");
+		String separator = "\n";
+		for (Record record : records.values()) {
+			writer.write(separator);
+			writer.write("    {\"round\": " + record.round //
+					+ ", \"category\": \"" + escapeJson(record.category) //
+					+ "\", \"key\": \"" + escapeJson(record.key) //
+					+ "\", \"count\": " + record.count //
+					+ ", \"durationInNs\": " + record.durationInNs + "}");
+			separator = ",\n";
+		}
+		writer.write("\n  ]\n}\n");
+	}
+
+	private String escapeCsv(String value) {
+		if (value.indexOf(',') == -1 && value.indexOf('"') == -1) {
+			return value;
+		}
+		return "\"" + value.replace("\"", "\"\"") + "\"";
+	}
+
+	private String escapeJson(String value) {
+		StringBuilder sb = new StringBuilder();
+		for (char c : value.toCharArray()) {
+			if (c == '"' || c == '\\') {
+				sb.append('\\').append(c);
+			} else if (c < ' ') {
+				sb.append(String.format("\\u%04x", (int) c));
+			} else {
+				sb.append(c);
+			}
+		}
+		return sb.toString();
 	}
 
 }
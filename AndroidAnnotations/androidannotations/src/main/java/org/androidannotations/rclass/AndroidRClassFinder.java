@@ -29,6 +29,13 @@ public class AndroidRClassFinder {
 
 	private final ProcessingEnvironment processingEnv;
 
+	/**
+	 * Kept across rounds: the R class is only rebuilt when the compiler gives
+	 * a different element for it.
+	 */
+	private TypeElement lastRType;
+	private IRClass lastRClass;
+
 	public AndroidRClassFinder(ProcessingEnvironment processingEnv) {
 		this.processingEnv = processingEnv;
 	}
@@ -41,8 +48,12 @@ public class AndroidRClassFinder {
 			return Option.absent();
 		}
 
-		LOGGER.info("Found Android class: {}", androidRType.toString());
+		if (androidRType != lastRType) {
+			LOGGER.info("Found Android class: {}", androidRType.toString());
+			lastRType = androidRType;
+			lastRClass = new RClass(androidRType);
+		}
 
-		return Option.<IRClass> of(new RClass(androidRType));
+		return Option.of(lastRClass);
 	}
 }
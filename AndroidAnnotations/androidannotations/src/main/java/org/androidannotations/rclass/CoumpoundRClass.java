@@ -20,21 +20,29 @@ import java.util.Map;
 
 public class CoumpoundRClass implements IRClass {
 
+	private final IRClass rClass;
+	private final IRClass androidRclass;
+
 	private final Map<String, IRInnerClass> rInnerClasses = new HashMap<String, IRInnerClass>();
 
 	public CoumpoundRClass(IRClass rClass, IRClass androidRclass) {
-		for (Res res : Res.values()) {
-			IRInnerClass rInnerClass = rClass.get(res);
-			IRInnerClass androidRInnerClass = androidRclass.get(res);
-			IRInnerClass coumpoundInnerClass = new CoumpoundInnerClass(rInnerClass, androidRInnerClass);
-			rInnerClasses.put(res.rName(), coumpoundInnerClass);
-		}
+		this.rClass = rClass;
+		this.androidRclass = androidRclass;
 	}
 
 	@Override
 	public IRInnerClass get(Res res) {
 		String id = res.rName();
-		return rInnerClasses.get(id);
+		IRInnerClass coumpoundInnerClass = rInnerClasses.get(id);
+		if (coumpoundInnerClass == null) {
+			coumpoundInnerClass = new CoumpoundInnerClass(rClass.get(res), androidRclass.get(res));
+			rInnerClasses.put(id, coumpoundInnerClass);
+		}
+		return coumpoundInnerClass;
+	}
+
+	public boolean isComposedOf(IRClass rClass, IRClass androidRclass) {
+		return this.rClass == rClass && this.androidRclass == androidRclass;
 	}
 
 }
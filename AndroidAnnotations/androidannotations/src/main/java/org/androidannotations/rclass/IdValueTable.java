@@ -0,0 +1,106 @@
+/**
+ * Copyright (C) 2010-2014 eBusiness Information, Excilys Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.rclass;
+
+/**
+ * Maps resource id values to the simple name of their R field, using open
+ * addressing on primitive arrays so that the ids are never boxed. A slot is
+ * free while its name is <code>null</code>, so any int is a valid id value.
+ */
+public class IdValueTable {
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	private int[] idValues;
+	private String[] names;
+	private int size;
+
+	public IdValueTable() {
+		this(INITIAL_CAPACITY);
+	}
+
+	public IdValueTable(int expectedSize) {
+		int capacity = INITIAL_CAPACITY;
+		while (capacity < expectedSize * 2) {
+			capacity <<= 1;
+		}
+		idValues = new int[capacity];
+		names = new String[capacity];
+	}
+
+	/**
+	 * Replaces the name already registered for this id value, if any.
+	 */
+	public void put(int idValue, String name) {
+		if ((size + 1) * 2 > names.length) {
+			resize();
+		}
+		int slot = slot(idValue, idValues, names);
+		if (names[slot] == null) {
+			idValues[slot] = idValue;
+			size++;
+		}
+		names[slot] = name;
+	}
+
+	public String get(int idValue) {
+		return names[slot(idValue, idValues, names)];
+	}
+
+	public boolean containsKey(int idValue) {
+		return get(idValue) != null;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	private void resize() {
+		int[] oldIdValues = idValues;
+		String[] oldNames = names;
+		idValues = new int[oldNames.length * 2];
+		names = new String[oldNames.length * 2];
+		for (int i = 0; i < oldNames.length; i++) {
+			if (oldNames[i] != null) {
+				int slot = slot(oldIdValues[i], idValues, names);
+				idValues[slot] = oldIdValues[i];
+				names[slot] = oldNames[i];
+			}
+		}
+	}
+
+	/**
+	 * Returns the slot holding the id value, or the free slot where it should
+	 * be inserted. The table is never more than half full, so a free slot is
+	 * always found.
+	 */
+	private static int slot(int idValue, int[] idValues, String[] names) {
+		int mask = names.length - 1;
+		int slot = mix(idValue) & mask;
+		while (names[slot] != null && idValues[slot] != idValue) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	/**
+	 * Resource ids share their package and type bytes, only the low bits vary.
+	 */
+	private static int mix(int idValue) {
+		int h = idValue * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+}
@@ -32,12 +32,19 @@ public class ProjectRClassFinder {
 	private ProcessingEnvironment processingEnv;
 	private OptionsHelper optionsHelper;
 
+	/**
+	 * Kept across rounds: the R class is only rebuilt when the compiler gives
+	 * a different element for it.
+	 */
+	private TypeElement lastRType;
+	private RClass lastRClass;
+
 	public ProjectRClassFinder(ProcessingEnvironment processingEnv) {
 		this.processingEnv = processingEnv;
 		optionsHelper = new OptionsHelper(processingEnv);
 	}
 
-	public Option<IRClass> find(AndroidManifest manifest) {
+	public Option<RClass> find(AndroidManifest manifest) {
 		Elements elementUtils = processingEnv.getElementUtils();
 		String rClass = getRClassPackageName(manifest) + ".R";
 		TypeElement rType = elementUtils.getTypeElement(rClass);
@@ -47,9 +54,13 @@ public class ProjectRClassFinder {
 			return Option.absent();
 		}
 
-		LOGGER.info("Found project R class: {}", rType.toString());
+		if (rType != lastRType) {
+			LOGGER.info("Found project R class: {}", rType.toString());
+			lastRType = rType;
+			lastRClass = new RClass(rType);
+		}
 
-		return Option.<IRClass> of(new RClass(rType));
+		return Option.of(lastRClass);
 	}
 
 	public String getRClassPackageName(AndroidManifest manifest) {
@@ -18,6 +18,7 @@ package org.androidannotations.rclass;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 import javax.lang.model.element.Element;
 import javax.lang.model.element.TypeElement;
@@ -41,6 +42,22 @@ public class RClass implements IRClass {
 		return ElementFilter.typesIn(rEnclosedElements);
 	}
 
+	/**
+	 * Returns a hash of the fields of each inner class read so far, by inner
+	 * class name. The inner classes no annotation referred to are not read,
+	 * and not returned.
+	 */
+	public Map<String, String> getLoadedInnerClassHashes() {
+		Map<String, String> hashesByInnerClass = new TreeMap<String, String>();
+		for (Map.Entry<String, RInnerClass> entry : rClass.entrySet()) {
+			RInnerClass rInnerClass = entry.getValue();
+			if (rInnerClass.isLoaded()) {
+				hashesByInnerClass.put(entry.getKey(), Long.toHexString(rInnerClass.getFieldsHash()));
+			}
+		}
+		return hashesByInnerClass;
+	}
+
 	@Override
 	public IRInnerClass get(Res res) {
 
@@ -15,10 +15,9 @@
  */
 package org.androidannotations.rclass;
 
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 
 import javax.lang.model.element.Element;
@@ -35,69 +34,112 @@ import com.sun.codemodel.JFieldRef;
 
 public class RInnerClass implements IRInnerClass {
 
-	private final Map<Integer, String> idQualifiedNamesByIdValues = new HashMap<Integer, String>();
-	private final Set<String> idQualifiedNames = new HashSet<String>();
+	private final TypeElement rInnerTypeElement;
 
 	private final String rInnerQualifiedName;
 
+	/**
+	 * Field names and id values are read on first use, so that the R inner
+	 * classes no annotation refers to are never scanned.
+	 */
+	private IdValueTable fieldNamesByIdValues;
+	private Set<String> fieldNames;
+
+	/**
+	 * Hash of the names and values of the int fields, computed while they are
+	 * read.
+	 */
+	private long fieldsHash;
+
 	public RInnerClass(TypeElement rInnerTypeElement) {
+		this.rInnerTypeElement = rInnerTypeElement;
 		if (rInnerTypeElement != null) {
-
 			rInnerQualifiedName = rInnerTypeElement.getQualifiedName().toString();
+		} else {
+			rInnerQualifiedName = "";
+		}
+	}
 
-			List<? extends Element> idEnclosedElements = rInnerTypeElement.getEnclosedElements();
+	private void loadFields() {
+		if (fieldNames != null) {
+			return;
+		}
+
+		if (rInnerTypeElement == null) {
+			fieldNamesByIdValues = new IdValueTable();
+			fieldNames = Collections.emptySet();
+			return;
+		}
+
+		List<? extends Element> idEnclosedElements = rInnerTypeElement.getEnclosedElements();
 
-			List<VariableElement> idFields = ElementFilter.fieldsIn(idEnclosedElements);
+		List<VariableElement> idFields = ElementFilter.fieldsIn(idEnclosedElements);
 
-			for (VariableElement idField : idFields) {
-				TypeKind fieldType = idField.asType().getKind();
-				if (fieldType.isPrimitive() && fieldType.equals(TypeKind.INT)) {
-					String idQualifiedName = rInnerQualifiedName + "." + idField.getSimpleName();
-					idQualifiedNames.add(idQualifiedName);
-					Integer idFieldId = (Integer) idField.getConstantValue();
-					if (idFieldId != null) {
-						idQualifiedNamesByIdValues.put(idFieldId, idQualifiedName);
-					}
+		fieldNamesByIdValues = new IdValueTable(idFields.size());
+		fieldNames = new HashSet<String>(idFields.size() * 4 / 3 + 1);
+
+		for (VariableElement idField : idFields) {
+			TypeKind fieldType = idField.asType().getKind();
+			if (fieldType.isPrimitive() && fieldType.equals(TypeKind.INT)) {
+				String fieldName = idField.getSimpleName().toString();
+				fieldNames.add(fieldName);
+				fieldsHash = 31 * fieldsHash + fieldName.hashCode();
+				Object idFieldId = idField.getConstantValue();
+				if (idFieldId != null) {
+					fieldNamesByIdValues.put((Integer) idFieldId, fieldName);
+					fieldsHash = 31 * fieldsHash + (Integer) idFieldId;
 				}
 			}
-		} else {
-			rInnerQualifiedName = "";
 		}
 	}
 
+	boolean isLoaded() {
+		return fieldNames != null;
+	}
+
+	long getFieldsHash() {
+		return fieldsHash;
+	}
+
 	@Override
 	public boolean containsIdValue(Integer idValue) {
-		return idQualifiedNamesByIdValues.containsKey(idValue);
+		if (idValue == null) {
+			return false;
+		}
+		loadFields();
+		return fieldNamesByIdValues.containsKey(idValue);
 	}
 
 	@Override
 	public String getIdQualifiedName(Integer idValue) {
-		return idQualifiedNamesByIdValues.get(idValue);
+		if (idValue == null) {
+			return null;
+		}
+		loadFields();
+		String fieldName = fieldNamesByIdValues.get(idValue);
+		if (fieldName != null) {
+			return rInnerQualifiedName + "." + fieldName;
+		} else {
+			return null;
+		}
 	}
 
 	@Override
 	public boolean containsField(String name) {
-		boolean containsField = idQualifiedNames.contains(rInnerQualifiedName + "." + name);
-
-		if (!containsField) {
-			String snakeCaseName = CaseHelper.camelCaseToSnakeCase(name);
-			containsField = idQualifiedNames.contains(rInnerQualifiedName + "." + snakeCaseName);
-		}
-
-		return containsField;
+		loadFields();
+		return fieldNames.contains(name) || fieldNames.contains(CaseHelper.camelCaseToSnakeCase(name));
 	}
 
 	@Override
 	public String getIdQualifiedName(String name) {
-		String idQualifiedName = rInnerQualifiedName + "." + name;
+		loadFields();
 
-		if (idQualifiedNames.contains(idQualifiedName)) {
-			return idQualifiedName;
+		if (fieldNames.contains(name)) {
+			return rInnerQualifiedName + "." + name;
 		} else {
 			String snakeCaseName = CaseHelper.camelCaseToSnakeCase(name);
-			idQualifiedName = rInnerQualifiedName + "." + snakeCaseName;
-			if (idQualifiedNames.contains(idQualifiedName)) {
-				return idQualifiedName;
+			if (fieldNames.contains(snakeCaseName)) {
+				return rInnerQualifiedName + "." + snakeCaseName;
 			} else {
 				return null;
 			}
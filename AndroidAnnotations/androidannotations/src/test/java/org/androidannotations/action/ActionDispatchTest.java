@@ -0,0 +1,59 @@
+/**
+ * Copyright (C) 2010-2014 eBusiness Information, Excilys Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.action;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.androidannotations.AndroidAnnotationProcessor;
+import org.androidannotations.utils.AAProcessorTestHelper;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ActionDispatchTest extends AAProcessorTestHelper {
+
+	@Before
+	public void setup() {
+		addManifestProcessorParameter(ActionDispatchTest.class);
+		addProcessor(AndroidAnnotationProcessor.class);
+	}
+
+	@Test
+	public void receiver_actions_are_dispatched_on_hash_code() throws IOException {
+		CompileResult result = compileFiles(ReceiverWithActions.class);
+		File generatedFile = toGeneratedFile(ReceiverWithActions.class);
+
+		assertCompilationSuccessful(result);
+		assertGeneratedClassMatches(generatedFile, ".*switch \\(action.hashCode\\(\\)\\) \\{");
+		assertGeneratedClassMatches(generatedFile, ".*case\\s+" + "sync".hashCode() + "\\s*:");
+		assertGeneratedClassMatches(generatedFile, ".*case\\s+2112\\s*:");
+		assertGeneratedClassMatches(generatedFile, ".*if \\(ACTION_FIRST_COLLIDING_ACTION.equals\\(action\\)\\) \\{");
+		assertGeneratedClassMatches(generatedFile, ".*if \\(ACTION_SECOND_COLLIDING_ACTION.equals\\(action\\)\\) \\{");
+	}
+
+	@Test
+	public void service_actions_are_dispatched_on_hash_code() throws IOException {
+		CompileResult result = compileFiles(IntentServiceWithActions.class);
+		File generatedFile = toGeneratedFile(IntentServiceWithActions.class);
+
+		assertCompilationSuccessful(result);
+		assertGeneratedClassMatches(generatedFile, ".*switch \\(action.hashCode\\(\\)\\) \\{");
+		assertGeneratedClassMatches(generatedFile, ".*case\\s+" + "sync".hashCode() + "\\s*:");
+		assertGeneratedClassMatches(generatedFile, ".*case\\s+2112\\s*:");
+		assertGeneratedClassMatches(generatedFile, ".*if \\(ACTION_SYNC.equals\\(action\\)\\) \\{");
+	}
+
+}
@@ -0,0 +1,47 @@
+/**
+ * Copyright (C) 2010-2014 eBusiness Information, Excilys Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.action;
+
+import org.androidannotations.annotations.EIntentService;
+import org.androidannotations.annotations.ServiceAction;
+
+import android.app.IntentService;
+import android.content.Intent;
+
+@EIntentService
+public class IntentServiceWithActions extends IntentService {
+
+	public IntentServiceWithActions() {
+		super(IntentServiceWithActions.class.getSimpleName());
+	}
+
+	@Override
+	protected void onHandleIntent(Intent intent) {
+	}
+
+	@ServiceAction("Aa")
+	void firstCollidingAction() {
+	}
+
+	@ServiceAction("BB")
+	void secondCollidingAction(String value) {
+	}
+
+	@ServiceAction
+	void sync() {
+	}
+
+}
@@ -0,0 +1,45 @@
+/**
+ * Copyright (C) 2010-2014 eBusiness Information, Excilys Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.background;
+
+import org.androidannotations.annotations.Background;
+import org.androidannotations.annotations.Coalesce;
+import org.androidannotations.annotations.EActivity;
+import org.androidannotations.annotations.UiThread;
+import org.androidannotations.annotations.UiThread.Propagation;
+
+import android.app.Activity;
+
+@EActivity
+public class ActivityWithCoalescedMethods extends Activity {
+
+	@Background(id = "search", coalesce = Coalesce.LATEST)
+	void search(String query) {
+	}
+
+	@Background(coalesce = Coalesce.LATEST)
+	void coalescedWithoutId() {
+	}
+
+	@UiThread(coalesce = Coalesce.LATEST, propagation = Propagation.REUSE)
+	void showProgress(int progress) {
+	}
+
+	@UiThread(coalesce = Coalesce.LATEST, delay = 100)
+	void showResults(String query, int count) {
+	}
+
+}
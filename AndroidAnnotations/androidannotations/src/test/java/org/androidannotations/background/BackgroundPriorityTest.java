@@ -0,0 +1,54 @@
+/**
+ * Copyright (C) 2010-2014 eBusiness Information, Excilys Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.background;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.androidannotations.AndroidAnnotationProcessor;
+import org.androidannotations.utils.AAProcessorTestHelper;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BackgroundPriorityTest extends AAProcessorTestHelper {
+
+	@Before
+	public void setup() {
+		addManifestProcessorParameter(BackgroundPriorityTest.class);
+		addProcessor(AndroidAnnotationProcessor.class);
+	}
+
+	@Test
+	public void priority_and_max_pending_are_passed_to_task() {
+		CompileResult result = compileFiles(ActivityWithPriorityBackground.class);
+		File generatedFile = toGeneratedFile(ActivityWithPriorityBackground.class);
+
+		assertCompilationSuccessful(result);
+		assertGeneratedClassMatches(generatedFile, ".*new BackgroundExecutor.Task\\(\"\", 0, \"\"\\) \\{");
+		assertGeneratedClassMatches(generatedFile, ".*new BackgroundExecutor.Task\\(\"\", 0, \"\", 10, 0, (org.androidannotations.annotations.)?Background.Overflow.REPLACE_OLDEST\\) \\{");
+		assertGeneratedClassMatches(generatedFile, ".*new BackgroundExecutor.Task\\(\"\", 0, \"prefetch\", -10, 20, (org.androidannotations.annotations.)?Background.Overflow.DROP_NEWEST\\) \\{");
+	}
+
+	@Test
+	public void max_pending_requires_serial_and_positive_value() throws IOException {
+		CompileResult result = compileFiles(ActivityWithInvalidMaxPending.class);
+
+		assertCompilationErrorOn(ActivityWithInvalidMaxPending.class, "@Background(maxPending = 20)", result);
+		assertCompilationErrorOn(ActivityWithInvalidMaxPending.class, "@Background(serial = \"serial\", maxPending = -1)", result);
+		assertCompilationErrorCount(2, result);
+	}
+
+}
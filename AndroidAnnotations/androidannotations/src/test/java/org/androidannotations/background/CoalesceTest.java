@@ -0,0 +1,49 @@
+/**
+ * Copyright (C) 2010-2014 eBusiness Information, Excilys Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.background;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.androidannotations.AndroidAnnotationProcessor;
+import org.androidannotations.utils.AAProcessorTestHelper;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CoalesceTest extends AAProcessorTestHelper {
+
+	@Before
+	public void setup() {
+		addManifestProcessorParameter(CoalesceTest.class);
+		addProcessor(AndroidAnnotationProcessor.class);
+	}
+
+	@Test
+	public void coalesced_methods_replace_waiting_calls() throws IOException {
+		CompileResult result = compileFiles(ActivityWithCoalescedMethods.class);
+		File generatedFile = toGeneratedFile(ActivityWithCoalescedMethods.class);
+
+		assertCompilationErrorOn(ActivityWithCoalescedMethods.class, "@Background(coalesce = Coalesce.LATEST)", result);
+		assertCompilationErrorCount(1, result);
+
+		assertGeneratedClassMatches(generatedFile, ".*BackgroundExecutor.executeLatest\\(new BackgroundExecutor.Task\\(\"search\", 0, \"\"\\) \\{");
+		assertGeneratedClassMatches(generatedFile, ".*handler_.removeCallbacksAndMessages\\(\"showProgress\\(int\\)\"\\);");
+		assertGeneratedClassMatches(generatedFile, ".*handler_.removeCallbacksAndMessages\\(\"showResults\\(java.lang.String,int\\)\"\\);");
+		assertGeneratedClassMatches(generatedFile, ".*\"showProgress\\(int\\)\", SystemClock.uptimeMillis\\(\\)\\);");
+		assertGeneratedClassMatches(generatedFile, ".*\"showResults\\(java.lang.String,int\\)\", \\(SystemClock.uptimeMillis\\(\\)\\+ 100L\\)\\);");
+	}
+
+}
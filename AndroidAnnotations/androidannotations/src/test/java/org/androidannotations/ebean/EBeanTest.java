@@ -15,6 +15,8 @@
  */
 package org.androidannotations.ebean;
 
+import java.io.File;
+
 import org.androidannotations.AndroidAnnotationProcessor;
 import org.androidannotations.utils.AAProcessorTestHelper;
 import org.junit.Before;
@@ -37,4 +39,15 @@ public class EBeanTest extends AAProcessorTestHelper {
                 SomeGenericBeanExt.class));
     }
 
+	@Test
+	public void type_variables_are_substituted_per_subclass() {
+		assertCompilationSuccessful(compileFiles(GenericWorker.class, StringWorker.class, IntegerWorker.class));
+
+		File stringWorker = toGeneratedFile(StringWorker.class);
+		File integerWorker = toGeneratedFile(IntegerWorker.class);
+
+		assertGeneratedClassMatches(stringWorker, ".*void work\\(final String item, final List<String> items\\) \\{");
+		assertGeneratedClassMatches(integerWorker, ".*void work\\(final Integer item, final List<Integer> items\\) \\{");
+	}
+
 }
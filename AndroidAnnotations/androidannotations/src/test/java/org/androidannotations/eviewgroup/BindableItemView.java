@@ -0,0 +1,40 @@
+/**
+ * Copyright (C) 2010-2014 eBusiness Information, Excilys Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.eviewgroup;
+
+import android.content.Context;
+import android.widget.TextView;
+import android.widget.LinearLayout;
+import org.androidannotations.annotations.EViewGroup;
+import org.androidannotations.api.view.BindableView;
+
+@EViewGroup
+public class BindableItemView extends LinearLayout implements BindableView<String> {
+
+	TextView text;
+
+	public BindableItemView(Context context) {
+		super(context);
+		text = new TextView(context);
+		addView(text);
+	}
+
+	@Override
+	public void bind(String item) {
+		text.setText(item);
+	}
+
+}
@@ -34,4 +34,29 @@ public class EViewGroupTest extends AAProcessorTestHelper {
 				SomeGenericViewGroupExt.class));
 	}
 
+	@Test
+	public void bindable_view_group_is_recyclable() {
+		CompileResult result = compileFiles(BindableItemView.class, toPath(EViewGroupTest.class, "BindableItemAdapter.java"));
+		assertCompilationSuccessful(result);
+
+		assertGeneratedClassMatches(toGeneratedFile(BindableItemView.class), ".*implements .*RecyclableView<String>.*");
+		assertGeneratedClassMatches(toGeneratedFile(BindableItemView.class), ".*public void bindIfChanged\\(String item, int dataVersion\\).*");
+		assertGeneratedClassMatches(toGeneratedFile(BindableItemView.class), ".*if \\(\\(item == boundItem_\\)&&\\(dataVersion == boundDataVersion_\\)\\).*");
+	}
+
+	@Test
+	public void generic_bindable_view_group_is_recyclable() {
+		CompileResult result = compileFiles(GenericBindableItemView.class);
+		assertCompilationSuccessful(result);
+
+		assertGeneratedClassMatches(toGeneratedFile(GenericBindableItemView.class), ".*public void bindIfChanged\\(T item, int dataVersion\\).*");
+	}
+
+	@Test
+	public void view_group_not_bindable_is_not_recyclable() {
+		assertCompilationSuccessful(compileFiles(SomeGenericViewGroup.class));
+
+		assertGeneratedClassDoesntMatches(toGeneratedFile(SomeGenericViewGroup.class), ".*bindIfChanged.*");
+	}
+
 }
@@ -22,6 +22,7 @@ import org.androidannotations.api.sharedpreferences.AbstractPrefEditorField;
 import org.androidannotations.api.sharedpreferences.AbstractPrefField;
 import org.androidannotations.api.sharedpreferences.BooleanPrefEditorField;
 import org.androidannotations.api.sharedpreferences.BooleanPrefField;
+import org.androidannotations.api.sharedpreferences.CompactStringSetCodec;
 import org.androidannotations.api.sharedpreferences.EditorHelper;
 import org.androidannotations.api.sharedpreferences.FloatPrefEditorField;
 import org.androidannotations.api.sharedpreferences.FloatPrefField;
@@ -33,6 +34,7 @@ import org.androidannotations.api.sharedpreferences.SharedPreferencesCompat;
 import org.androidannotations.api.sharedpreferences.SharedPreferencesHelper;
 import org.androidannotations.api.sharedpreferences.StringPrefEditorField;
 import org.androidannotations.api.sharedpreferences.StringPrefField;
+import org.androidannotations.api.sharedpreferences.StringSetCodec;
 import org.androidannotations.api.sharedpreferences.StringSetPrefEditorField;
 import org.androidannotations.api.sharedpreferences.StringSetPrefField;
 import org.androidannotations.manifest.SomeClass;
@@ -46,6 +48,7 @@ public class SharedPrefsApiDependenciesTest extends AAProcessorTestHelper {
 			AbstractPrefField.class,//
 			BooleanPrefEditorField.class,//
 			BooleanPrefField.class,//
+			CompactStringSetCodec.class,//
 			EditorHelper.class,//
 			FloatPrefEditorField.class,//
 			FloatPrefField.class,//
@@ -57,6 +60,7 @@ public class SharedPrefsApiDependenciesTest extends AAProcessorTestHelper {
 			SharedPreferencesHelper.class,//
 			StringPrefEditorField.class,//
 			StringPrefField.class, //
+			StringSetCodec.class,//
 			StringSetPrefEditorField.class,//
 			StringSetPrefField.class //
 	};
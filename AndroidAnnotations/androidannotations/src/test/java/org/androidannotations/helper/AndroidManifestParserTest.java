@@ -0,0 +1,92 @@
+/**
+ * Copyright (C) 2010-2014 eBusiness Information, Excilys Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import org.androidannotations.helper.AndroidManifestParser.Declarations;
+import org.junit.Test;
+
+public class AndroidManifestParserTest {
+
+	@Test
+	public void readsApplicationDeclarations() throws Exception {
+		Declarations declarations = parse("<manifest xmlns:android=\"http://schemas.android.com/apk/res/android\" package=\"com.example\">" //
+				+ "<uses-sdk android:minSdkVersion=\"8\" android:targetSdkVersion=\"19\" />" //
+				+ "<uses-permission android:name=\"android.permission.INTERNET\" />" //
+				+ "<application android:name=\".App\" android:debuggable=\"true\">" //
+				+ "<activity android:name=\".MainActivity\" />" //
+				+ "<activity />" //
+				+ "<service android:name=\"com.example.SyncService\" />" //
+				+ "<receiver android:name=\"BootReceiver\" />" //
+				+ "<provider android:name=\".DataProvider\" />" //
+				+ "</application>" //
+				+ "</manifest>");
+
+		assertEquals("com.example", declarations.applicationPackage);
+		assertEquals(8, declarations.minSdkVersion);
+		assertEquals(-1, declarations.maxSdkVersion);
+		assertEquals(19, declarations.targetSdkVersion);
+		assertTrue(declarations.hasApplication);
+		assertEquals(".App", declarations.applicationName);
+		assertEquals("true", declarations.applicationDebuggable);
+		assertEquals(Arrays.asList(".MainActivity", null), declarations.activityNames);
+		assertEquals(Arrays.asList("com.example.SyncService"), declarations.serviceNames);
+		assertEquals(Arrays.asList("BootReceiver"), declarations.receiverNames);
+		assertEquals(Arrays.asList(".DataProvider"), declarations.providerNames);
+		assertEquals(Arrays.asList("android.permission.INTERNET"), declarations.usesPermissionNames);
+	}
+
+	@Test
+	public void missingDeclarationsUseDefaults() throws Exception {
+		Declarations declarations = parse("<wrong></wrong>");
+
+		assertEquals("", declarations.applicationPackage);
+		assertEquals(-1, declarations.minSdkVersion);
+		assertFalse(declarations.hasApplication);
+		assertNull(declarations.applicationName);
+		assertTrue(declarations.activityNames.isEmpty());
+	}
+
+	private Declarations parse(String manifest) throws Exception {
+		File manifestFile = File.createTempFile("AndroidManifest", ".xml");
+		try {
+			write(manifestFile, manifest);
+			return new AndroidManifestParser().parse(manifestFile);
+		} finally {
+			manifestFile.delete();
+		}
+	}
+
+	private void write(File file, String content) throws IOException {
+		OutputStream output = new FileOutputStream(file);
+		try {
+			output.write(content.getBytes("UTF-8"));
+		} finally {
+			output.close();
+		}
+	}
+
+}
@@ -0,0 +1,127 @@
+/**
+ * Copyright (C) 2010-2014 eBusiness Information, Excilys Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.incremental;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+
+import org.androidannotations.AndroidAnnotationProcessor;
+import org.androidannotations.utils.AAProcessorTestHelper;
+import org.junit.Before;
+import org.junit.Test;
+
+public class IncrementalProcessingTest extends AAProcessorTestHelper {
+
+	private static final File INDEX_FILE = new File("target/androidannotations.index");
+
+	@Before
+	public void setup() {
+		addManifestProcessorParameter(IncrementalProcessingTest.class);
+		addProcessorParameter("incremental", "true");
+		addProcessor(AndroidAnnotationProcessor.class);
+		// Previously generated classes must be visible, as in a real build
+		addCompilerOptions("-classpath", getClassPath() + File.pathSeparator + getOuputDirectory().getAbsolutePath());
+		ensureOutputDirectoryIsEmpty();
+		INDEX_FILE.delete();
+	}
+
+	@Test
+	public void unchanged_elements_are_not_generated_again() {
+		assertCompilationSuccessful(compileFiles(SomeActivity.class, SomeBean.class));
+		assertTrue(INDEX_FILE.exists());
+
+		File generatedActivity = toGeneratedFile(SomeActivity.class);
+		File generatedBean = toGeneratedFile(SomeBean.class);
+		assertTrue(generatedActivity.delete());
+		assertTrue(generatedBean.delete());
+
+		assertCompilationSuccessful(compileFiles(SomeActivity.class, SomeBean.class));
+		assertFalse(generatedActivity.exists());
+		assertFalse(generatedBean.exists());
+	}
+
+	@Test
+	public void elements_with_missing_generated_classes_are_generated_again() {
+		assertCompilationSuccessful(compileFiles(SomeActivity.class, SomeBean.class));
+
+		File generatedActivity = toGeneratedFile(SomeActivity.class);
+		File generatedActivityClass = new File(getOuputDirectory(), toPath(SomeActivity.class.getPackage()) + "/SomeActivity_.class");
+		File generatedBean = toGeneratedFile(SomeBean.class);
+		assertTrue(generatedActivity.delete());
+		assertTrue(generatedActivityClass.delete());
+		assertTrue(generatedBean.delete());
+
+		assertCompilationSuccessful(compileFiles(SomeActivity.class, SomeBean.class));
+		assertTrue(generatedActivity.exists());
+		assertFalse(generatedBean.exists());
+	}
+
+	@Test
+	public void elements_depending_on_a_changed_type_are_generated_again() throws IOException {
+		assertCompilationSuccessful(compileFiles(SomeActivity.class, SomeBean.class));
+
+		File generatedActivity = toGeneratedFile(SomeActivity.class);
+		assertTrue(generatedActivity.delete());
+
+		File changedBean = new File("target/incremental-sources/" + toPath(SomeBean.class.getPackage()) + "/SomeBean.java");
+		changedBean.getParentFile().mkdirs();
+		FileWriter writer = new FileWriter(changedBean);
+		try {
+			writer.write("package org.androidannotations.incremental;\n" //
+					+ "@org.androidannotations.annotations.EBean(scope = org.androidannotations.annotations.EBean.Scope.Singleton)\n" //
+					+ "public class SomeBean {\n" //
+					+ "}\n");
+		} finally {
+			writer.close();
+		}
+
+		assertCompilationSuccessful(compileFiles(toFile(SomeActivity.class), changedBean));
+		assertTrue(generatedActivity.exists());
+	}
+
+	@Test
+	public void elements_no_longer_compiled_are_removed_from_the_index() throws IOException {
+		assertCompilationSuccessful(compileFiles(SomeActivity.class, SomeBean.class));
+		assertTrue(readIndex().contains(SomeBean.class.getName()));
+
+		assertCompilationSuccessful(compileFiles(SomeActivity.class));
+		String index = readIndex();
+		assertTrue(index.contains(SomeActivity.class.getName()));
+		assertFalse(index.contains("root\t" + SomeBean.class.getName()));
+	}
+
+	private String readIndex() throws IOException {
+		BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(INDEX_FILE), "UTF-8"));
+		try {
+			StringBuilder index = new StringBuilder();
+			String line;
+			while ((line = reader.readLine()) != null) {
+				index.append(line).append('\n');
+			}
+			return index.toString();
+		} finally {
+			reader.close();
+		}
+	}
+
+}
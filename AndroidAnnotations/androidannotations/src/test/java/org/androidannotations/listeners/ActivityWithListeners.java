@@ -0,0 +1,51 @@
+/**
+ * Copyright (C) 2010-2014 eBusiness Information, Excilys Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.listeners;
+
+import org.androidannotations.annotations.Click;
+import org.androidannotations.annotations.EActivity;
+import org.androidannotations.annotations.LongClick;
+import org.androidannotations.annotations.Touch;
+
+import android.app.Activity;
+import android.view.MotionEvent;
+import android.view.View;
+
+@EActivity
+public class ActivityWithListeners extends Activity {
+
+	@Click
+	void save() {
+	}
+
+	@Click({ R.id.cancel, R.id.delete })
+	void cancelOrDelete(View view) {
+	}
+
+	@LongClick(R.id.save)
+	boolean saveLongClicked() {
+		return true;
+	}
+
+	@LongClick(R.id.delete)
+	void deleteLongClicked(View view) {
+	}
+
+	@Touch(R.id.cancel)
+	void cancelTouched(MotionEvent event) {
+	}
+
+}
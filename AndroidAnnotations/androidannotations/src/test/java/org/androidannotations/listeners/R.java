@@ -0,0 +1,9 @@
+package org.androidannotations.listeners;
+
+public class R {
+	public static final class id {
+		public static final int save = 0x7f060001;
+		public static final int cancel = 0x7f060002;
+		public static final int delete = 0x7f060003;
+	}
+}
@@ -0,0 +1,73 @@
+/**
+ * Copyright (C) 2010-2014 eBusiness Information, Excilys Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.listeners;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.androidannotations.AndroidAnnotationProcessor;
+import org.androidannotations.utils.AAProcessorTestHelper;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SharedListenersTest extends AAProcessorTestHelper {
+
+	@Before
+	public void setup() {
+		addManifestProcessorParameter(SharedListenersTest.class);
+		addProcessor(AndroidAnnotationProcessor.class);
+	}
+
+	@Test
+	public void listeners_are_shared_by_the_component() throws IOException {
+		addProcessorParameter("sharedListeners", "true");
+		CompileResult result = compileFiles(ActivityWithListeners.class);
+		File generatedFile = toGeneratedFile(ActivityWithListeners.class);
+
+		assertCompilationSuccessful(result);
+		assertGeneratedClassMatches(generatedFile, ".*private final (View\\.)?OnClickListener onClickListener_ = new (View\\.)?OnClickListener\\(\\) \\{");
+		assertGeneratedClassMatches(generatedFile, ".*private final (View\\.)?OnLongClickListener onLongClickListener_ = new (View\\.)?OnLongClickListener\\(\\) \\{");
+		assertGeneratedClassMatches(generatedFile, ".*private final (View\\.)?OnTouchListener onTouchListener_ = new (View\\.)?OnTouchListener\\(\\) \\{");
+		assertGeneratedClassMatches(generatedFile, ".*switch \\(view.getId\\(\\)\\) \\{");
+		assertGeneratedClassMatches(generatedFile, ".*case (R.)?id.delete:");
+		assertGeneratedClassMatches(generatedFile, ".*view.setOnClickListener\\(onClickListener_\\);");
+		assertGeneratedClassMatches(generatedFile, ".*view.setOnTouchListener\\(onTouchListener_\\);");
+		assertGeneratedClassDoesntMatches(generatedFile, ".*setOnClickListener\\(new .*");
+	}
+
+	@Test
+	public void subclass_listener_replaces_inherited_listener_with_same_id() throws IOException {
+		addProcessorParameter("sharedListeners", "true");
+		CompileResult result = compileFiles(ParentActivityWithListeners.class, ChildActivityWithListeners.class);
+		File generatedFile = toGeneratedFile(ChildActivityWithListeners.class);
+
+		assertCompilationSuccessful(result);
+		assertGeneratedClassMatches(generatedFile, ".*ChildActivityWithListeners_.this.childSave\\(\\);");
+		assertGeneratedClassMatches(generatedFile, ".*ChildActivityWithListeners_.this.parentCancel\\(\\);");
+		assertGeneratedClassDoesntMatches(generatedFile, ".*parentSave.*");
+	}
+
+	@Test
+	public void listeners_are_created_per_method_by_default() throws IOException {
+		CompileResult result = compileFiles(ActivityWithListeners.class);
+		File generatedFile = toGeneratedFile(ActivityWithListeners.class);
+
+		assertCompilationSuccessful(result);
+		assertGeneratedClassDoesntMatches(generatedFile, ".*onClickListener_.*");
+		assertGeneratedClassDoesntMatches(generatedFile, ".*switch \\(view.getId\\(\\)\\).*");
+	}
+
+}
@@ -0,0 +1,70 @@
+/**
+ * Copyright (C) 2010-2014 eBusiness Information, Excilys Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.profiling;
+
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+
+import org.androidannotations.AndroidAnnotationProcessor;
+import org.androidannotations.utils.AAProcessorTestHelper;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ProfilingTest extends AAProcessorTestHelper {
+
+	private static final File JSON_REPORT = new File("target/androidannotations-profile.json");
+	private static final File CSV_REPORT = new File("target/androidannotations-profile.csv");
+
+	@Before
+	public void setup() {
+		addManifestProcessorParameter(ProfilingTest.class);
+		addProcessor(AndroidAnnotationProcessor.class);
+		JSON_REPORT.delete();
+		CSV_REPORT.delete();
+	}
+
+	@Test
+	public void json_report_contains_handlers_and_root_elements() {
+		addProcessorParameter("profile", "true");
+		assertCompilationSuccessful(compileFiles(ProfiledActivity.class));
+
+		assertTrue(JSON_REPORT.exists());
+		assertGeneratedClassMatches(JSON_REPORT, ".*\"category\": \"validate\", \"key\": \"EActivityHandler\".*");
+		assertGeneratedClassMatches(JSON_REPORT, ".*\"category\": \"process\", \"key\": \"BackgroundHandler\".*");
+		assertGeneratedClassMatches(JSON_REPORT, ".*\"category\": \"element\", \"key\": \"org.androidannotations.profiling.ProfiledActivity\".*");
+		assertGeneratedClassMatches(JSON_REPORT, ".*\"category\": \"counter\", \"key\": \"Generated Files\", \"count\": 1,.*");
+	}
+
+	@Test
+	public void csv_report_when_requested() {
+		addProcessorParameter("profile", "csv");
+		assertCompilationSuccessful(compileFiles(ProfiledActivity.class));
+
+		assertTrue(CSV_REPORT.exists());
+		assertGeneratedClassMatches(CSV_REPORT, "1,phase,Process Annotations,1,[0-9]+");
+	}
+
+	@Test
+	public void nested_types_are_recorded_under_their_top_level_type() {
+		addProcessorParameter("profile", "csv");
+		assertCompilationSuccessful(compileFiles(ProfiledActivity.class));
+
+		assertGeneratedClassMatches(CSV_REPORT, "1,element,org.androidannotations.profiling.ProfiledActivity,[0-9]+,[0-9]+");
+		assertGeneratedClassDoesntMatches(CSV_REPORT, ".*,element,org.androidannotations.profiling.ProfiledActivity.ProfiledBean,.*");
+	}
+
+}
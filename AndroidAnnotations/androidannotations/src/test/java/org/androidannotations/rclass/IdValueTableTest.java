@@ -0,0 +1,72 @@
+/**
+ * Copyright (C) 2010-2014 eBusiness Information, Excilys Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.rclass;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class IdValueTableTest {
+
+	@Test
+	public void unknownIdIsAbsent() {
+		IdValueTable table = new IdValueTable();
+		assertFalse(table.containsKey(0x7f050001));
+		assertNull(table.get(0x7f050001));
+	}
+
+	@Test
+	public void putThenGet() {
+		IdValueTable table = new IdValueTable();
+		table.put(0x7f050001, "title");
+		table.put(0, "zero");
+		table.put(-1, "negative");
+
+		assertEquals("title", table.get(0x7f050001));
+		assertEquals("zero", table.get(0));
+		assertEquals("negative", table.get(-1));
+		assertEquals(3, table.size());
+	}
+
+	@Test
+	public void putReplacesPreviousName() {
+		IdValueTable table = new IdValueTable();
+		table.put(0x7f050001, "title");
+		table.put(0x7f050001, "subtitle");
+
+		assertEquals("subtitle", table.get(0x7f050001));
+		assertEquals(1, table.size());
+	}
+
+	@Test
+	public void growsPastInitialCapacity() {
+		IdValueTable table = new IdValueTable(4);
+		for (int i = 0; i < 30000; i++) {
+			table.put(0x7f050000 + i, "id" + i);
+		}
+
+		assertEquals(30000, table.size());
+		for (int i = 0; i < 30000; i++) {
+			assertTrue(table.containsKey(0x7f050000 + i));
+			assertEquals("id" + i, table.get(0x7f050000 + i));
+		}
+		assertFalse(table.containsKey(0x7f050000 + 30000));
+	}
+
+}
@@ -0,0 +1,51 @@
+/**
+ * Copyright (C) 2010-2014 eBusiness Information, Excilys Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.rest;
+
+import org.androidannotations.annotations.rest.Accept;
+import org.androidannotations.annotations.rest.Get;
+import org.androidannotations.annotations.rest.Post;
+import org.androidannotations.annotations.rest.RequiresCookie;
+import org.androidannotations.annotations.rest.Rest;
+import org.androidannotations.api.rest.MediaType;
+import org.androidannotations.api.rest.RestClientRootUrl;
+import org.springframework.http.converter.json.MappingJacksonHttpMessageConverter;
+
+@Rest(rootUrl = "http://company.com/ajax/services", converters = MappingJacksonHttpMessageConverter.class)
+@Accept(MediaType.APPLICATION_JSON)
+public interface ClientWithHeaders extends RestClientRootUrl {
+
+	@Get("/events/{year}/{location}")
+	Entity getEvents(String location, int year);
+
+	@Get("/events/{year}/{location}")
+	@RequiresCookie("session")
+	Entity getEventsWithSession(String location, int year);
+
+	@Post("/events")
+	@Accept(MediaType.APPLICATION_XML)
+	void addEvent(Entity entity);
+
+	@Get("http://other.com/events")
+	Entity getOtherEvents();
+
+	@Get("/events/archive")
+	Entity getArchivedEvents();
+
+	@Get("/events-archive")
+	Entity getEventsArchive();
+
+}
@@ -15,6 +15,7 @@
  */
 package org.androidannotations.rest;
 
+import java.io.File;
 import java.io.IOException;
 
 import org.androidannotations.AndroidAnnotationProcessor;
@@ -78,6 +79,27 @@ public class RestTest extends AAProcessorTestHelper {
 		assertCompilationSuccessful(result);
 	}
 
+	@Test
+	public void client_precomputes_urls_and_accept_headers() throws IOException {
+		CompileResult result = compileFiles(ClientWithHeaders.class);
+		File generatedFile = toGeneratedFile(ClientWithHeaders.class);
+
+		assertCompilationSuccessful(result);
+		assertGeneratedClassMatches(generatedFile, ".*eventsYearLocationUrl = rootUrl.concat\\(\"/events/\\{year\\}/\\{location\\}\"\\);");
+		assertGeneratedClassMatches(generatedFile, ".*this.eventsYearLocationUrl = this.rootUrl.concat\\(\"/events/\\{year\\}/\\{location\\}\"\\);");
+		assertGeneratedClassMatches(generatedFile, ".*restTemplate.exchange\\(eventsYearLocationUrl, .*");
+		assertGeneratedClassMatches(generatedFile, ".*restTemplate.exchange\\(\"http://other.com/events\", .*");
+		assertGeneratedClassDoesntMatches(generatedFile, ".*getEvents(WithSession)?Url.*");
+		assertGeneratedClassDoesntMatches(generatedFile, ".*eventsYearLocationUrl[_0-9].*");
+		assertGeneratedClassMatches(generatedFile, ".*eventsArchiveUrl_" + Integer.toHexString("/events/archive".hashCode()) + " = rootUrl.concat\\(\"/events/archive\"\\);");
+		assertGeneratedClassMatches(generatedFile, ".*eventsArchiveUrl_" + Integer.toHexString("/events-archive".hashCode()) + " = rootUrl.concat\\(\"/events-archive\"\\);");
+		assertGeneratedClassDoesntMatches(generatedFile, ".*eventsArchiveUrl[ 0-9].*");
+		assertGeneratedClassMatches(generatedFile, ".*private final static List<(org.springframework.http.)?MediaType> ACCEPT_APPLICATION_JSON = .*");
+		assertGeneratedClassMatches(generatedFile, ".*httpHeaders.setAccept\\(ACCEPT_APPLICATION_XML\\);");
+		assertGeneratedClassMatches(generatedFile, ".*new HashMap<String, Object>\\(3\\);");
+		assertGeneratedClassMatches(generatedFile, ".*cookiesValue.append\\(\"session=\"\\).append\\(availableCookies.get\\(\"session\"\\)\\).append\\(';'\\);");
+	}
+
 	@Test
 	public void client_with_wrong_enhanced_methods() throws IOException {
 		CompileResult result = compileFiles(ClientWithWrongEnhancedMethod.class);
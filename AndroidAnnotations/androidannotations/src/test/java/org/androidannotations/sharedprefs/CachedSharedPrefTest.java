@@ -0,0 +1,48 @@
+/**
+ * Copyright (C) 2010-2014 eBusiness Information, Excilys Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.sharedprefs;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.androidannotations.AndroidAnnotationProcessor;
+import org.androidannotations.utils.AAProcessorTestHelper;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CachedSharedPrefTest extends AAProcessorTestHelper {
+
+	@Before
+	public void setup() {
+		addManifestProcessorParameter(CachedSharedPrefTest.class);
+		addProcessor(AndroidAnnotationProcessor.class);
+	}
+
+	@Test
+	public void cached_prefs_create_their_fields_once() throws IOException {
+		CompileResult result = compileFiles(CachedPrefs.class);
+		File generatedFile = toGeneratedFile(CachedPrefs.class);
+
+		assertCompilationSuccessful(result);
+
+		assertGeneratedClassMatches(generatedFile, ".*super\\(context.getSharedPreferences\\(\"CachedPrefs\", 0\\), true\\);");
+		assertGeneratedClassMatches(generatedFile, ".*private final IntPrefField columnsField_;");
+		assertGeneratedClassMatches(generatedFile, ".*columnsField_ = intField\\(\"columns\", 3\\);");
+		assertGeneratedClassMatches(generatedFile, ".*return columnsField_;");
+		assertGeneratedClassMatches(generatedFile, ".*themeField_ = stringField\\(\"theme\", \"\"\\);");
+	}
+
+}
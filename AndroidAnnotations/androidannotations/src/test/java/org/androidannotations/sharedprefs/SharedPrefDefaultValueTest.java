@@ -0,0 +1,48 @@
+/**
+ * Copyright (C) 2010-2014 eBusiness Information, Excilys Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.sharedprefs;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.androidannotations.AndroidAnnotationProcessor;
+import org.androidannotations.utils.AAProcessorTestHelper;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SharedPrefDefaultValueTest extends AAProcessorTestHelper {
+
+	@Before
+	public void setup() {
+		addManifestProcessorParameter(SharedPrefDefaultValueTest.class);
+		addProcessor(AndroidAnnotationProcessor.class);
+	}
+
+	@Test
+	public void default_values_are_read_from_annotation_mirrors() throws IOException {
+		CompileResult result = compileFiles(PrefsWithDefaults.class);
+		File generatedFile = toGeneratedFile(PrefsWithDefaults.class);
+
+		assertCompilationSuccessful(result);
+
+		assertGeneratedClassMatches(generatedFile, ".*booleanField\\(\"enabled\", true\\);");
+		assertGeneratedClassMatches(generatedFile, ".*intField\\(\"count\", 42\\);");
+		assertGeneratedClassMatches(generatedFile, ".*longField\\(\"timestamp\", 1234567890123L\\);");
+		assertGeneratedClassMatches(generatedFile, ".*floatField\\(\"ratio\", 1.5F\\);");
+		assertGeneratedClassMatches(generatedFile, ".*stringField\\(\"userName\", \"guest\"\\);");
+	}
+
+}
@@ -0,0 +1,71 @@
+/**
+ * Copyright (C) 2010-2014 eBusiness Information, Excilys Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.sharedprefs;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.androidannotations.AndroidAnnotationProcessor;
+import org.androidannotations.utils.AAProcessorTestHelper;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SharedPrefMinSdkTest extends AAProcessorTestHelper {
+
+	private static final String DIRECT_APPLY = ".*editor.apply\\(\\);";
+	private static final String DIRECT_GET_STRING_SET = ".*return getSharedPreferences\\(\\).getStringSet\\(key, defValues\\);";
+	private static final String DIRECT_PUT_STRING_SET = ".*editor.putStringSet\\(key, values\\);";
+
+	@Before
+	public void setup() {
+		addProcessor(AndroidAnnotationProcessor.class);
+	}
+
+	@Test
+	public void unknown_min_sdk_uses_compat_methods() throws IOException {
+		addManifestProcessorParameter(SharedPrefMinSdkTest.class);
+		CompileResult result = compileFiles(PrefsWithStringSet.class);
+		File generatedFile = toGeneratedFile(PrefsWithStringSet.class);
+
+		assertCompilationSuccessful(result);
+		assertGeneratedClassDoesntMatches(generatedFile, DIRECT_APPLY);
+		assertGeneratedClassDoesntMatches(generatedFile, DIRECT_PUT_STRING_SET);
+	}
+
+	@Test
+	public void min_sdk_gingerbread_calls_editor_apply_directly() throws IOException {
+		addManifestProcessorParameter(SharedPrefMinSdkTest.class, "AndroidManifestMinGingerbread.xml");
+		CompileResult result = compileFiles(PrefsWithStringSet.class);
+		File generatedFile = toGeneratedFile(PrefsWithStringSet.class);
+
+		assertCompilationSuccessful(result);
+		assertGeneratedClassMatches(generatedFile, DIRECT_APPLY);
+		assertGeneratedClassDoesntMatches(generatedFile, DIRECT_PUT_STRING_SET);
+	}
+
+	@Test
+	public void min_sdk_honeycomb_calls_editor_methods_directly() throws IOException {
+		addManifestProcessorParameter(SharedPrefMinSdkTest.class, "AndroidManifestMinHoneycomb.xml");
+		CompileResult result = compileFiles(PrefsWithStringSet.class);
+		File generatedFile = toGeneratedFile(PrefsWithStringSet.class);
+
+		assertCompilationSuccessful(result);
+		assertGeneratedClassMatches(generatedFile, DIRECT_APPLY);
+		assertGeneratedClassMatches(generatedFile, DIRECT_GET_STRING_SET);
+		assertGeneratedClassMatches(generatedFile, DIRECT_PUT_STRING_SET);
+	}
+
+}
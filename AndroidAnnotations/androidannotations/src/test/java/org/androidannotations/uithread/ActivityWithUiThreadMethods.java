@@ -0,0 +1,49 @@
+/**
+ * Copyright (C) 2010-2014 eBusiness Information, Excilys Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.uithread;
+
+import java.util.List;
+
+import org.androidannotations.annotations.EActivity;
+import org.androidannotations.annotations.UiThread;
+import org.androidannotations.annotations.UiThread.Propagation;
+
+import android.app.Activity;
+
+@EActivity
+public class ActivityWithUiThreadMethods extends Activity {
+
+	@UiThread
+	void refresh() {
+	}
+
+	@UiThread(propagation = Propagation.REUSE)
+	void showProgress(int progress) {
+	}
+
+	@UiThread(delay = 100)
+	void showProgress(String label, int progress) {
+	}
+
+	@UiThread
+	<T> void showItems(List<T> items) {
+	}
+
+	@UiThread
+	void showLabels(String... labels) {
+	}
+
+}
@@ -0,0 +1,64 @@
+/**
+ * Copyright (C) 2010-2014 eBusiness Information, Excilys Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.uithread;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.androidannotations.AndroidAnnotationProcessor;
+import org.androidannotations.utils.AAProcessorTestHelper;
+import org.junit.Before;
+import org.junit.Test;
+
+public class UiThreadDispatchTest extends AAProcessorTestHelper {
+
+	@Before
+	public void setup() {
+		addManifestProcessorParameter(UiThreadDispatchTest.class);
+		addProcessor(AndroidAnnotationProcessor.class);
+	}
+
+	@Test
+	public void ui_thread_methods_reuse_their_runnables() throws IOException {
+		CompileResult result = compileFiles(ActivityWithUiThreadMethods.class);
+		File generatedFile = toGeneratedFile(ActivityWithUiThreadMethods.class);
+
+		assertCompilationSuccessful(result);
+
+		// a method without parameter always posts the same runnable
+		assertGeneratedClassMatches(generatedFile, ".*private final Runnable refreshRunnable_ = new Runnable\\(\\) \\{");
+		assertGeneratedClassMatches(generatedFile, ".*handler_.post\\(refreshRunnable_\\);");
+
+		// the parameters are stored in pooled runnables
+		assertGeneratedClassMatches(generatedFile, ".*private final RunnablePool<ActivityWithUiThreadMethods_.ShowProgressRunnable_> showProgressRunnablePool_ = .*");
+		assertGeneratedClassMatches(generatedFile, ".*private final RunnablePool<ActivityWithUiThreadMethods_.ShowProgressRunnable2_> showProgressRunnablePool2_ = .*");
+		assertGeneratedClassMatches(generatedFile, ".*runnable_ = showProgressRunnablePool_.acquire\\(\\);");
+		assertGeneratedClassMatches(generatedFile, ".*runnable_.progress = progress;");
+		assertGeneratedClassMatches(generatedFile, ".*final String label = this.label;");
+		assertGeneratedClassMatches(generatedFile, ".*this.label = null;");
+		assertGeneratedClassMatches(generatedFile, ".*showProgressRunnablePool2_.release\\(this\\);");
+		assertGeneratedClassMatches(generatedFile, ".*handler_.postDelayed\\(runnable_, 100L\\);");
+
+		// the main thread is not looked up on each call
+		assertGeneratedClassMatches(generatedFile, ".*if \\(UiThreadHelper.isUiThread\\(\\)\\) \\{");
+
+		assertGeneratedClassMatches(generatedFile, ".*runnable_.labels = labels;");
+
+		// generic methods keep an anonymous runnable
+		assertGeneratedClassMatches(generatedFile, ".*handler_.post\\(new Runnable\\(\\) \\{");
+	}
+
+}
@@ -0,0 +1,53 @@
+/**
+ * Copyright (C) 2010-2014 eBusiness Information, Excilys Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.viewbyid;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.androidannotations.AndroidAnnotationProcessor;
+import org.androidannotations.utils.AAProcessorTestHelper;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LazyViewTest extends AAProcessorTestHelper {
+
+	@Before
+	public void setup() {
+		addManifestProcessorParameter(LazyViewTest.class);
+		addProcessor(AndroidAnnotationProcessor.class);
+	}
+
+	@Test
+	public void lazy_views_are_reset_instead_of_found() throws IOException {
+		CompileResult result = compileFiles(ActivityWithLazyViews.class);
+		File generatedFile = toGeneratedFile(ActivityWithLazyViews.class);
+
+		assertCompilationSuccessful(result);
+		assertGeneratedClassMatches(generatedFile, ".*details = new LazyView<TextView>\\((R.)?id.details\\);");
+		assertGeneratedClassMatches(generatedFile, ".*details.reset\\(hasViews\\);");
+		assertGeneratedClassDoesntMatches(generatedFile, ".*findViewById\\((R.)?id.details\\).*");
+		assertGeneratedClassMatches(generatedFile, ".*title = \\(\\(TextView\\) hasViews.findViewById\\((R.)?id.title\\)\\);");
+	}
+
+	@Test
+	public void raw_lazy_view_does_not_compile() throws IOException {
+		CompileResult result = compileFiles(ActivityWithInvalidLazyView.class);
+		assertCompilationErrorOn(ActivityWithInvalidLazyView.class, "@ViewById", result);
+		assertCompilationErrorCount(1, result);
+	}
+
+}
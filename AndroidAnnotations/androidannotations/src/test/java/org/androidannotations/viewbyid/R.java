@@ -0,0 +1,9 @@
+package org.androidannotations.viewbyid;
+
+public class R {
+	public static final class id {
+		public static final int title = 0x7f060001;
+		public static final int details = 0x7f060002;
+		public static final int footer = 0x7f060003;
+	}
+}
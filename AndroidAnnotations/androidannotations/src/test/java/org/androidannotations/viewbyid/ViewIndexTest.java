@@ -0,0 +1,72 @@
+/**
+ * Copyright (C) 2010-2014 eBusiness Information, Excilys Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.viewbyid;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.androidannotations.AndroidAnnotationProcessor;
+import org.androidannotations.utils.AAProcessorTestHelper;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ViewIndexTest extends AAProcessorTestHelper {
+
+	@Before
+	public void setup() {
+		addManifestProcessorParameter(ViewIndexTest.class);
+		addProcessor(AndroidAnnotationProcessor.class);
+	}
+
+	@Test
+	public void views_are_indexed_from_threshold() throws IOException {
+		addProcessorParameter("viewIndexThreshold", "4");
+		CompileResult result = compileFiles(ActivityWithManyViews.class);
+		File generatedFile = toGeneratedFile(ActivityWithManyViews.class);
+
+		assertCompilationSuccessful(result);
+		assertGeneratedClassMatches(generatedFile, ".*private final static int\\[\\] VIEW_IDS_ = new int\\[\\] \\{.*id.title.*\\};");
+		assertGeneratedClassMatches(generatedFile, ".*private final static int\\[\\] VIEW_IDS_ = new int\\[\\] \\{.*id.details.*\\};");
+		assertGeneratedClassMatches(generatedFile, ".*private final static int\\[\\] VIEW_IDS_ = new int\\[\\] \\{.*id.footer.*\\};");
+		assertGeneratedClassMatches(generatedFile, ".*SparseArray<View> views_ = ViewIndex.index\\(hasViews, VIEW_IDS_\\);");
+		assertGeneratedClassMatches(generatedFile, ".*title = \\(\\(TextView\\) views_.get\\((R.)?id.title\\)\\);");
+		assertGeneratedClassMatches(generatedFile, ".*(detailsContainer = details|details = \\(\\(TextView\\) detailsContainer\\));");
+		assertGeneratedClassDoesntMatches(generatedFile, ".*hasViews.findViewById\\((R.)?id.title\\).*");
+	}
+
+	@Test
+	public void fragment_views_are_indexed_from_content_view() throws IOException {
+		addProcessorParameter("viewIndexThreshold", "3");
+		CompileResult result = compileFiles(FragmentWithManyViews.class);
+		File generatedFile = toGeneratedFile(FragmentWithManyViews.class);
+
+		assertCompilationSuccessful(result);
+		assertGeneratedClassMatches(generatedFile, ".*SparseArray<View> views_ = ViewIndex.index\\(hasViews, contentView_, VIEW_IDS_\\);");
+		assertGeneratedClassMatches(generatedFile, ".*title = \\(\\(TextView\\) views_.get\\(.*id.title\\)\\);");
+	}
+
+	@Test
+	public void views_are_found_one_by_one_below_threshold() throws IOException {
+		addProcessorParameter("viewIndexThreshold", "5");
+		CompileResult result = compileFiles(ActivityWithManyViews.class);
+		File generatedFile = toGeneratedFile(ActivityWithManyViews.class);
+
+		assertCompilationSuccessful(result);
+		assertGeneratedClassDoesntMatches(generatedFile, ".*ViewIndex.index.*");
+		assertGeneratedClassMatches(generatedFile, ".*title = \\(\\(TextView\\) hasViews.findViewById\\((R.)?id.title\\)\\);");
+	}
+
+}
@@ -20,9 +20,11 @@ import static org.mockito.Mockito.verify;
 
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Semaphore;
@@ -61,6 +63,7 @@ public class ThreadActivityTest {
 	@After
 	public void after() {
 		Thread.setDefaultUncaughtExceptionHandler(defaultExceptionHandler);
+		BackgroundExecutor.setTaskListener(null);
 	}
 
 	@Test
@@ -309,6 +312,88 @@ public class ThreadActivityTest {
 		}
 	}
 
+	/**
+	 * Verify that a task cancelled after it has been enqueued, but before it
+	 * has been submitted to the executor or to its serial queue, never runs.
+	 */
+	@Test
+	public void cancelledBeforeSubmitBackgroundTasks() throws InterruptedException {
+		BackgroundExecutor.setExecutor(Executors.newSingleThreadExecutor());
+
+		final List<String> cancelledIds = Collections.synchronizedList(new ArrayList<String>());
+		BackgroundExecutor.setTaskListener(new TaskListenerAdapter() {
+			@Override
+			public void onEnqueued(String id, String serial, long enqueueTime) {
+				if (id != null) {
+					BackgroundExecutor.cancelAll(id, false);
+				}
+			}
+
+			@Override
+			public void onCancelled(String id, String serial, long enqueueTime, long cancelTime) {
+				cancelledIds.add(id);
+			}
+		});
+
+		List<Integer> list = Collections.synchronizedList(new ArrayList<Integer>());
+		Semaphore sem = new Semaphore(0);
+
+		BackgroundExecutor.execute(new AddTask(list, 0, "cancel_before_submit", "", null));
+		BackgroundExecutor.execute(new AddTask(list, 1, "cancel_before_offer", "serial_before_offer", null));
+		BackgroundExecutor.execute(new AddTask(list, 2, "", "", sem));
+		BackgroundExecutor.execute(new AddTask(list, 3, "", "serial_before_offer", sem));
+
+		Assert.assertTrue("Requested tasks should have completed execution", sem.tryAcquire(2, MAX_WAITING_TIME, TimeUnit.MILLISECONDS));
+		Assert.assertEquals("Only uncancelled tasks must have added items", Arrays.asList(2, 3), list);
+		Assert.assertEquals(Arrays.asList("cancel_before_submit", "cancel_before_offer"), cancelledIds);
+	}
+
+	/**
+	 * Verify that cancelling a task waiting for its serial drops it, notifies
+	 * the listener once, and keeps the order of the other tasks.
+	 */
+	@Test
+	public void cancelQueuedSerializedBackgroundTask() throws InterruptedException {
+		BackgroundExecutor.setExecutor(Executors.newFixedThreadPool(4));
+
+		final List<String> cancelledIds = Collections.synchronizedList(new ArrayList<String>());
+		BackgroundExecutor.setTaskListener(new TaskListenerAdapter() {
+			@Override
+			public void onCancelled(String id, String serial, long enqueueTime, long cancelTime) {
+				cancelledIds.add(id);
+			}
+		});
+
+		final List<Integer> list = Collections.synchronizedList(new ArrayList<Integer>());
+		final CountDownLatch running = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		Semaphore sem = new Semaphore(0);
+
+		BackgroundExecutor.execute(new BackgroundExecutor.Task("", 0, "queued_serial") {
+			@Override
+			public void execute() {
+				running.countDown();
+				try {
+					release.await(MAX_WAITING_TIME, TimeUnit.MILLISECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				list.add(0);
+			}
+		});
+		BackgroundExecutor.execute(new AddTask(list, 1, "queued_task", "queued_serial", null));
+		BackgroundExecutor.execute(new AddTask(list, 2, "", "queued_serial", null));
+		BackgroundExecutor.execute(new AddTask(list, 3, "", "queued_serial", sem));
+
+		Assert.assertTrue("The first task should have started", running.await(MAX_WAITING_TIME, TimeUnit.MILLISECONDS));
+		BackgroundExecutor.cancelAll("queued_task", false);
+		release.countDown();
+
+		Assert.assertTrue("Requested tasks should have completed execution", sem.tryAcquire(MAX_WAITING_TIME, TimeUnit.MILLISECONDS));
+		Assert.assertEquals("Items must be in order, without the cancelled one", Arrays.asList(0, 2, 3), list);
+		Assert.assertEquals(Collections.singletonList("queued_task"), cancelledIds);
+	}
+
 	@Test
 	public void propagateException() {
 		BackgroundExecutor.setExecutor(new Executor() {
@@ -384,6 +469,47 @@ public class ThreadActivityTest {
 	 * Call wait() on the given object with the specified timeout.
 	 * Avoid boilerplate code like synchronized or try..catch.
 	 */
+	private static class AddTask extends BackgroundExecutor.Task {
+
+		private final List<Integer> list;
+		private final int item;
+		private final Semaphore sem;
+
+		AddTask(List<Integer> list, int item, String id, String serial, Semaphore sem) {
+			super(id, 0, serial);
+			this.list = list;
+			this.item = item;
+			this.sem = sem;
+		}
+
+		@Override
+		public void execute() {
+			list.add(item);
+			if (sem != null) {
+				sem.release();
+			}
+		}
+	}
+
+	private static class TaskListenerAdapter implements BackgroundExecutor.TaskListener {
+
+		@Override
+		public void onEnqueued(String id, String serial, long enqueueTime) {
+		}
+
+		@Override
+		public void onStarted(String id, String serial, long enqueueTime, long startTime) {
+		}
+
+		@Override
+		public void onFinished(String id, String serial, long startTime, long finishTime) {
+		}
+
+		@Override
+		public void onCancelled(String id, String serial, long enqueueTime, long cancelTime) {
+		}
+	}
+
 	private void waitOn(Object lock, long timeout) {
 		synchronized (lock) {
 			try {
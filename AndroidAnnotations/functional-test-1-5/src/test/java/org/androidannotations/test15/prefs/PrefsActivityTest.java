@@ -16,19 +16,27 @@
 package org.androidannotations.test15.prefs;
 
 import android.content.SharedPreferences;
+import org.androidannotations.api.sharedpreferences.CompactStringSetCodec;
 import org.androidannotations.api.sharedpreferences.SetXmlSerializer;
+import org.androidannotations.api.sharedpreferences.SharedPreferencesCompat;
 import org.androidannotations.test15.R;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.Mockito;
 import org.robolectric.Robolectric;
 import org.robolectric.RobolectricTestRunner;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Set;
 import java.util.TreeSet;
 
 import static org.fest.assertions.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 @RunWith(RobolectricTestRunner.class)
 public class PrefsActivityTest {
@@ -173,6 +181,26 @@ public class PrefsActivityTest {
 		assertThat(somePrefs.types().get()).isEqualTo(values);
 	}
 
+	@Test
+	public void getStringSetCompatReadsLegacyXml() {
+		Set<String> values = new TreeSet<String>(Arrays.asList("1", "2", "3"));
+		SharedPreferences preferences = mockPreferencesWithoutStringSet("types", SetXmlSerializer.serialize(values));
+
+		assertThat(SharedPreferencesCompat.getStringSet(preferences, "types", null)).isEqualTo(values);
+	}
+
+	@Test
+	public void getStringSetCompatReturnsMutableCopies() {
+		Set<String> values = new TreeSet<String>(Arrays.asList("b", "a"));
+		SharedPreferences preferences = mockPreferencesWithoutStringSet("types", new CompactStringSetCodec().encode(values));
+
+		Set<String> readValues = SharedPreferencesCompat.getStringSet(preferences, "types", null);
+		assertThat(new ArrayList<String>(readValues)).isEqualTo(Arrays.asList("a", "b"));
+		readValues.add("c");
+
+		assertThat(SharedPreferencesCompat.getStringSet(preferences, "types", null)).isEqualTo(values);
+	}
+
 	@Test
 	public void getStringSet() {
 		Set<String> values = new TreeSet<String>(Arrays.asList("1", "2", "3"));
@@ -182,6 +210,61 @@ public class PrefsActivityTest {
 		assertThat(somePrefs.types().get()).isEqualTo(values);
 	}
 	
+	@Test
+	public void batchAppliesWritesOnce() {
+		somePrefs.batch(new Runnable() {
+			@Override
+			public void run() {
+				somePrefs.name().put("John");
+				somePrefs.age().put(42);
+				assertThat(sharedPref.contains("name")).isFalse();
+				assertThat(sharedPref.contains("age")).isFalse();
+			}
+		});
+		assertThat(sharedPref.getString("name", null)).isEqualTo("John");
+		assertThat(sharedPref.getInt("age", 0)).isEqualTo(42);
+	}
+
+	@Test
+	public void nestedBatchIsAppliedWithOuterBatch() {
+		somePrefs.batch(new Runnable() {
+			@Override
+			public void run() {
+				somePrefs.batch(new Runnable() {
+					@Override
+					public void run() {
+						somePrefs.name().put("John");
+					}
+				});
+				assertThat(sharedPref.contains("name")).isFalse();
+				somePrefs.age().put(42);
+			}
+		});
+		assertThat(sharedPref.getString("name", null)).isEqualTo("John");
+		assertThat(sharedPref.getInt("age", 0)).isEqualTo(42);
+	}
+
+	@Test
+	public void failedBatchIsNotApplied() {
+		try {
+			somePrefs.batch(new Runnable() {
+				@Override
+				public void run() {
+					somePrefs.name().put("John");
+					throw new IllegalStateException();
+				}
+			});
+			fail("The exception of the batch should be thrown");
+		} catch (IllegalStateException e) {
+			// expected
+		}
+		assertThat(sharedPref.contains("name")).isFalse();
+
+		// the writes after the batch are applied right away
+		somePrefs.age().put(42);
+		assertThat(sharedPref.getInt("age", 0)).isEqualTo(42);
+	}
+
 	@Test
 	public void defaultValue() {
 		assertThat(somePrefs.name().get()).isEqualTo("John");
@@ -223,4 +306,11 @@ public class PrefsActivityTest {
 		sharedPref.edit().putString("ageLong", "90211105578124").commit();
 		assertThat(somePrefs.ageLong().get()).isEqualTo(90211105578124l);
 	}
+
+	private SharedPreferences mockPreferencesWithoutStringSet(String key, String value) {
+		SharedPreferences preferences = mock(SharedPreferences.class);
+		when(preferences.getStringSet(anyString(), Mockito.<Set<String>> any())).thenThrow(new UnsupportedOperationException());
+		when(preferences.getString(key, null)).thenReturn(value);
+		return preferences;
+	}
 }